@@ -0,0 +1,181 @@
+package com.studyolle.infra.cluster;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import javax.annotation.PreDestroy;
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+// 노드마다 메모리에 들고 있는 캐시, 색인, 브라우저 연결을 맞추기 위해 PostgreSQL LISTEN/NOTIFY 로 다른 노드에 메시지를 보낸다.
+// 보낸 메시지는 보낸 트랜잭션이 커밋될 때만 전달되고, 자기 노드에는 전달되지 않으니 지금 노드의 반영은 보내는 쪽에서 커밋 뒤에 직접 한다.
+// 듣는 연결이 끊기면 다시 연결하고, 그 사이 메시지를 놓쳤을 수 있으니 ClusterResetEvent 를 발행한다.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ClusterBroadcaster {
+
+    static final String CHANNEL = "studyolle_cluster";
+    // NOTIFY payload 는 8000 바이트보다 작아야 한다.
+    static final int MAX_PAYLOAD_BYTES = 7999;
+    static final int MAX_ITEMS_PER_MESSAGE = 200;
+    static final Duration POLL_TIMEOUT = Duration.ofSeconds(1);
+    static final Duration VALIDATION_INTERVAL = Duration.ofSeconds(30);
+    static final Duration RETRY_INTERVAL = Duration.ofSeconds(5);
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private volatile boolean running;
+    private Thread listener;
+
+    public void broadcast(ClusterMessage message) {
+        String payload = toJson(new Envelope(nodeId, message.getClass().getName(), objectMapper.valueToTree(message)));
+        if (payload.getBytes(StandardCharsets.UTF_8).length > MAX_PAYLOAD_BYTES) {
+            throw new IllegalArgumentException("클러스터 메시지가 너무 큽니다. " + message.getClass().getSimpleName());
+        }
+
+        jdbcTemplate.query("SELECT pg_notify(?, ?)", resultSet -> {}, CHANNEL, payload);
+    }
+
+    // 계정 id 목록처럼 길어질 수 있는 값은 크기 제한에 걸리지 않게 나눠서 보낸다.
+    public <T> void broadcast(List<T> items, Function<List<T>, ClusterMessage> messageFactory) {
+        for (int from = 0; from < items.size(); from += MAX_ITEMS_PER_MESSAGE) {
+            broadcast(messageFactory.apply(new ArrayList<>(items.subList(from, Math.min(from + MAX_ITEMS_PER_MESSAGE, items.size())))));
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void startListening() {
+        if (running) {
+            return;
+        }
+
+        running = true;
+        listener = new Thread(this::listen, "ClusterListener");
+        listener.setDaemon(true);
+        listener.start();
+    }
+
+    @PreDestroy
+    public synchronized void stopListening() throws InterruptedException {
+        if (!running) {
+            return;
+        }
+
+        running = false;
+        listener.join(POLL_TIMEOUT.multipliedBy(2).toMillis());
+    }
+
+    // 커넥션 풀에서 하나를 빌려서 계속 붙잡고 듣는다.
+    private void listen() {
+        while (running) {
+            try (Connection connection = dataSource.getConnection()) {
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                log.info("listening cluster messages as node {}", nodeId);
+                applicationEventPublisher.publishEvent(new ClusterResetEvent());
+
+                long validatedAt = System.nanoTime();
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications((int) POLL_TIMEOUT.toMillis());
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            receive(notification.getParameter());
+                        }
+                    }
+
+                    // 응답 없이 끊긴 연결은 getNotifications 만으로는 알 수 없어서 가끔 확인한다.
+                    if (System.nanoTime() - validatedAt > VALIDATION_INTERVAL.toNanos()) {
+                        if (!connection.isValid((int) RETRY_INTERVAL.toSeconds())) {
+                            throw new SQLException("cluster listener connection is no longer valid");
+                        }
+                        validatedAt = System.nanoTime();
+                    }
+                }
+
+                // 풀에 돌려준 커넥션을 다른 곳에서 쓸 때 알림이 쌓이지 않게 한다.
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("UNLISTEN *");
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+
+                log.warn("cluster listener failed, retrying in {}", RETRY_INTERVAL, e);
+                try {
+                    Thread.sleep(RETRY_INTERVAL.toMillis());
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void receive(String payload) {
+        try {
+            Envelope envelope = objectMapper.readValue(payload, Envelope.class);
+            if (nodeId.equals(envelope.getNodeId())) {
+                return;
+            }
+
+            Class<?> type = ClassUtils.forName(envelope.getType(), getClass().getClassLoader());
+            if (!ClusterMessage.class.isAssignableFrom(type)) {
+                log.warn("ignored cluster message of unknown type {}", envelope.getType());
+                return;
+            }
+            applicationEventPublisher.publishEvent(objectMapper.treeToValue(envelope.getMessage(), type));
+        } catch (JsonProcessingException | ClassNotFoundException e) {
+            log.warn("ignored unreadable cluster message {}", payload, e);
+        } catch (RuntimeException e) {
+            // 한 메시지를 처리하다 실패해도 다음 메시지는 계속 받는다.
+            log.error("failed to handle cluster message {}", payload, e);
+        }
+    }
+
+    private String toJson(Envelope envelope) {
+        try {
+            return objectMapper.writeValueAsString(envelope);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("클러스터 메시지를 JSON 으로 바꿀 수 없습니다. " + envelope.getType(), e);
+        }
+    }
+
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    static class Envelope {
+        private String nodeId;
+        private String type;
+        private JsonNode message;
+    }
+}
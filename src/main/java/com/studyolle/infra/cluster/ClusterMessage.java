@@ -0,0 +1,6 @@
+package com.studyolle.infra.cluster;
+
+// 다른 노드에 보내는 메시지. 받은 노드에서는 ApplicationEvent 로 발행되니 @EventListener 로 받는다.
+// JSON 으로 주고받으니 기본 생성자와 getter 가 있어야 한다.
+public interface ClusterMessage {
+}
@@ -0,0 +1,5 @@
+package com.studyolle.infra.cluster;
+
+// 다른 노드의 메시지를 듣기 시작했을 때 발행한다. 연결이 끊긴 동안 놓친 메시지가 있을 수 있으니 메모리에 들고 있는 값을 처음부터 다시 맞춘다.
+public class ClusterResetEvent {
+}
@@ -4,10 +4,71 @@ import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
 @Data
 @Component
 @ConfigurationProperties("app")
 public class AppProperties {
 
     private String host;
+
+    private Duration homeFeedTtl = Duration.ofMinutes(5);
+
+    private boolean homeFeedParallel = true;
+
+    private Duration homeFeedQueryTimeout = Duration.ofSeconds(3);
+
+    // 읽지 않은 알림 개수를 다시 세지 않고 쓰는 시간. 다른 노드에서 바뀐 개수도 이 시간이 지나면 맞춰진다.
+    private Duration notificationCountTtl = Duration.ofMinutes(1);
+
+    // 같은 스터디의 새소식을 모아서 한 번에 알리는 시간. 0 이면 바로 알린다.
+    private Duration notificationDigestWindow = Duration.ofMinutes(1);
+
+    // 알림 보관 개월 수. 이번 달을 빼고 이 개월 수보다 오래된 월 파티션을 통째로 지운다.
+    private int notificationRetentionMonths = 6;
+
+    // 알림 처리를 가상 스레드에서 실행한다. 실행 중인 JVM 이 지원하지 않으면 스레드 풀을 그대로 쓴다.
+    private boolean virtualThreads = false;
+
+    // 가상 스레드 모드에서 동시에 DB 커넥션을 쓰는 알림 처리 수 (커넥션 풀 크기보다 작게 잡는다)
+    private int virtualThreadsDbConcurrency = 6;
+
+    // 메일 발송 대기열에서 한 번에 꺼내서 SMTP 연결 하나로 보내는 메일 수
+    private int mailBatchSize = 50;
+
+    // 초당 최대 메일 발송 수
+    private int mailRatePerSecond = 10;
+
+    // 이름 있는 스레드 풀 설정. 지정하지 않은 값은 AsyncConfig 에 있는 풀별 기본값을 쓴다.
+    private Map<String, ExecutorPool> executors = new HashMap<>();
+
+    @Data
+    public static class ExecutorPool {
+
+        private Integer coreSize;
+
+        private Integer maxSize;
+
+        private Integer queueCapacity;
+
+        private Backpressure backpressure;
+
+        // BLOCK 일 때 큐에 자리가 나기를 기다리는 최대 시간
+        private Duration blockTimeout;
+
+        // 종료할 때 큐에 남은 작업을 마저 처리하며 기다리는 최대 시간
+        private Duration awaitTermination;
+    }
+
+    public enum Backpressure {
+
+        // 큐가 가득 차면 작업을 넘긴 스레드에서 직접 실행한다.
+        CALLER_RUNS,
+
+        // 큐가 가득 차면 자리가 날 때까지 작업을 넘긴 스레드를 붙잡아 둔다.
+        BLOCK
+    }
 }
@@ -1,29 +1,68 @@
 package com.studyolle.infra.config;
 
+import com.studyolle.infra.config.AppProperties.Backpressure;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.scheduling.annotation.AsyncConfigurer;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
 
+// 용도별로 이름 있는 스레드 풀을 만든다. 크기와 backpressure 는 app.executors.<이름>.* 로 바꿀 수 있다.
+// 풀을 작게 잡은 것은 커넥션 풀(기본 10개)을 한 용도가 다 차지하지 않게 하기 위해서다.
+// app.virtual-threads=true 이면 알림 처리 풀은 가상 스레드로 바뀌고, DB 동시 사용 수만 semaphore 로 제한한다.
 @Slf4j
 @Configuration
 @EnableAsync
-public class AsyncConfig implements AsyncConfigurer {
+public class AsyncConfig {
 
-    @Override
-    public Executor getAsyncExecutor() {
-        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    private final AppProperties appProperties;
+    private final ExecutorPoolFactory executorPoolFactory;
+    private final Semaphore dbPermits;
+
+    public AsyncConfig(AppProperties appProperties, MeterRegistry meterRegistry) {
+        this.appProperties = appProperties;
+        this.executorPoolFactory = new ExecutorPoolFactory(appProperties, meterRegistry);
+        this.dbPermits = new Semaphore(appProperties.getVirtualThreadsDbConcurrency());
+    }
+
+    // 이름을 지정하지 않은 @Async 가 쓰는 풀
+    @Bean
+    public ThreadPoolTaskExecutor taskExecutor() {
         int processors = Runtime.getRuntime().availableProcessors();
+        return executorPoolFactory.create("async", processors, processors * 2, 500, Backpressure.CALLER_RUNS);
+    }
+
+    // 홈 화면 조회 쿼리 전용 풀. 큐가 가득 차면 요청 스레드에서 직접 실행해서 순차 조회로 돌아간다.
+    @Bean
+    public ThreadPoolTaskExecutor homeFeedExecutor() {
+        return executorPoolFactory.create("home-feed", 4, 4, 100, Backpressure.CALLER_RUNS);
+    }
+
+    // 스터디 생성/변경 알림 fan-out. 한 작업이 수신자 전체를 청크로 처리하기 때문에 스레드는 적게 둔다.
+    @Bean
+    public Executor studyFanOutExecutor() {
+        return ioBound("study-fan-out", dbPermits, () -> executorPoolFactory.create("study-fan-out", 2, 2, 100, Backpressure.CALLER_RUNS));
+    }
+
+    // 모임 참가 신청 결과 알림
+    @Bean
+    public Executor enrollmentExecutor() {
+        return ioBound("enrollment", dbPermits, () -> executorPoolFactory.create("enrollment", 4, 4, 200, Backpressure.CALLER_RUNS));
+    }
+
+    private Executor ioBound(String name, Semaphore permits, Supplier<Executor> pooled) {
+        if (!appProperties.isVirtualThreads()) {
+            return pooled.get();
+        }
 
-        executor.setCorePoolSize(processors);
-        executor.setMaxPoolSize(processors * 2);
-        executor.setQueueCapacity(50);
-        executor.setKeepAliveSeconds(60);
-        executor.setThreadNamePrefix("AsyncExecutor-");
-        executor.initialize();
-        return executor;
+        return executorPoolFactory.createVirtual(name, permits).orElseGet(() -> {
+            log.warn("virtual threads are not supported by this JVM, {} executor falls back to a thread pool", name);
+            return pooled.get();
+        });
     }
 }
@@ -0,0 +1,136 @@
+package com.studyolle.infra.config;
+
+import com.studyolle.infra.config.AppProperties.Backpressure;
+import com.studyolle.infra.config.AppProperties.ExecutorPool;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+// 크기가 정해진 큐와 backpressure, 종료 시 큐 비우기, 메트릭을 갖춘 ThreadPoolTaskExecutor 를 만든다.
+// 메트릭은 name 태그로 풀을 구분한다.
+//  - executor.active, executor.queued, executor.pool.size : 실행 중인 스레드 수, 큐에 쌓인 작업 수, 풀 크기
+//  - executor.rejected : 큐가 가득 찼던 횟수 (outcome=caller_runs, blocked, rejected)
+//  - executor.task.wait, executor.task.latency : 큐에서 기다린 시간, 넘긴 시점부터 끝날 때까지 걸린 시간
+// 가상 스레드 풀은 큐 대신 semaphore 에서 기다리는 작업 수를 executor.queued 로 내보낸다.
+@RequiredArgsConstructor
+class ExecutorPoolFactory {
+
+    private static final Duration DEFAULT_BLOCK_TIMEOUT = Duration.ofSeconds(5);
+    private static final Duration DEFAULT_AWAIT_TERMINATION = Duration.ofSeconds(30);
+
+    private final AppProperties appProperties;
+    private final MeterRegistry meterRegistry;
+
+    ThreadPoolTaskExecutor create(String name, int coreSize, int maxSize, int queueCapacity, Backpressure backpressure) {
+        ExecutorPool pool = appProperties.getExecutors().getOrDefault(name, new ExecutorPool());
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(valueOf(pool.getCoreSize(), coreSize));
+        executor.setMaxPoolSize(valueOf(pool.getMaxSize(), maxSize));
+        executor.setQueueCapacity(valueOf(pool.getQueueCapacity(), queueCapacity));
+        executor.setThreadNamePrefix(name + "-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationMillis(valueOf(pool.getAwaitTermination(), DEFAULT_AWAIT_TERMINATION).toMillis());
+        executor.setRejectedExecutionHandler(rejectedExecutionHandler(name, valueOf(pool.getBackpressure(), backpressure),
+                valueOf(pool.getBlockTimeout(), DEFAULT_BLOCK_TIMEOUT)));
+        Timer waitTimer = Timer.builder("executor.task.wait").tag("name", name).register(meterRegistry);
+        Timer latencyTimer = Timer.builder("executor.task.latency").tag("name", name).register(meterRegistry);
+        executor.setTaskDecorator(runnable -> timed(runnable, waitTimer, latencyTimer));
+
+        Gauge.builder("executor.active", executor, ThreadPoolTaskExecutor::getActiveCount).tag("name", name).register(meterRegistry);
+        Gauge.builder("executor.pool.size", executor, ThreadPoolTaskExecutor::getPoolSize).tag("name", name).register(meterRegistry);
+        Gauge.builder("executor.queued", executor, ExecutorPoolFactory::queueSize).tag("name", name).register(meterRegistry);
+        return executor;
+    }
+
+    // 실행 중인 JVM 이 가상 스레드를 지원하지 않으면 비어 있다.
+    Optional<Executor> createVirtual(String name, Semaphore permits) {
+        ExecutorPool pool = appProperties.getExecutors().getOrDefault(name, new ExecutorPool());
+        return VirtualThreadExecutor.newVirtualThreadPerTaskExecutor()
+                .map(executorService -> createVirtual(name, executorService, permits, valueOf(pool.getAwaitTermination(), DEFAULT_AWAIT_TERMINATION)));
+    }
+
+    Executor createVirtual(String name, ExecutorService executorService, Semaphore permits, Duration awaitTermination) {
+        Timer waitTimer = Timer.builder("executor.task.wait").tag("name", name).register(meterRegistry);
+        Timer latencyTimer = Timer.builder("executor.task.latency").tag("name", name).register(meterRegistry);
+        VirtualThreadExecutor executor = new VirtualThreadExecutor(name, executorService, permits, awaitTermination,
+                runnable -> timed(runnable, waitTimer, latencyTimer));
+
+        Gauge.builder("executor.active", executor, VirtualThreadExecutor::getActiveCount).tag("name", name).register(meterRegistry);
+        Gauge.builder("executor.queued", executor, VirtualThreadExecutor::getWaitingCount).tag("name", name).register(meterRegistry);
+        return executor;
+    }
+
+    private RejectedExecutionHandler rejectedExecutionHandler(String name, Backpressure backpressure, Duration blockTimeout) {
+        Counter callerRuns = rejectedCounter(name, "caller_runs");
+        Counter blocked = rejectedCounter(name, "blocked");
+        Counter rejected = rejectedCounter(name, "rejected");
+
+        return (runnable, threadPoolExecutor) -> {
+            // 종료 중에는 작업을 버리지 않고 예외로 알려서 넘긴 쪽이 나중에 다시 시도할 수 있게 한다.
+            if (threadPoolExecutor.isShutdown()) {
+                rejected.increment();
+                throw new RejectedExecutionException(name + " executor has been shut down");
+            }
+
+            if (backpressure == Backpressure.CALLER_RUNS) {
+                callerRuns.increment();
+                runnable.run();
+                return;
+            }
+
+            blocked.increment();
+            try {
+                if (!threadPoolExecutor.getQueue().offer(runnable, blockTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                    rejected.increment();
+                    throw new RejectedExecutionException(name + " executor queue is full");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                rejected.increment();
+                throw new RejectedExecutionException(name + " executor was interrupted while waiting for the queue", e);
+            }
+        };
+    }
+
+    private static Runnable timed(Runnable runnable, Timer waitTimer, Timer latencyTimer) {
+        long submittedAt = System.nanoTime();
+        return () -> {
+            waitTimer.record(System.nanoTime() - submittedAt, TimeUnit.NANOSECONDS);
+            try {
+                runnable.run();
+            } finally {
+                latencyTimer.record(System.nanoTime() - submittedAt, TimeUnit.NANOSECONDS);
+            }
+        };
+    }
+
+    private Counter rejectedCounter(String name, String outcome) {
+        return Counter.builder("executor.rejected").tag("name", name).tag("outcome", outcome).register(meterRegistry);
+    }
+
+    private static int queueSize(ThreadPoolTaskExecutor executor) {
+        try {
+            return executor.getThreadPoolExecutor().getQueue().size();
+        } catch (IllegalStateException e) {
+            // 아직 초기화되지 않은 풀
+            return 0;
+        }
+    }
+
+    private static <T> T valueOf(T configured, T defaultValue) {
+        return configured != null ? configured : defaultValue;
+    }
+}
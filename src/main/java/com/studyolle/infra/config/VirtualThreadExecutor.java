@@ -0,0 +1,82 @@
+package com.studyolle.infra.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.task.TaskDecorator;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 작업마다 스레드를 하나씩 띄우고, 동시에 DB 나 SMTP 를 쓰는 작업 수는 semaphore 로 제한한다.
+// 기다리는 작업은 스레드를 붙잡지만 가상 스레드라서 비용이 거의 없다.
+@Slf4j
+class VirtualThreadExecutor implements Executor, DisposableBean {
+
+    private final String name;
+    private final ExecutorService executorService;
+    private final Semaphore permits;
+    private final Duration awaitTermination;
+    private final TaskDecorator taskDecorator;
+    private final AtomicInteger activeCount = new AtomicInteger();
+
+    VirtualThreadExecutor(String name, ExecutorService executorService, Semaphore permits, Duration awaitTermination, TaskDecorator taskDecorator) {
+        this.name = name;
+        this.executorService = executorService;
+        this.permits = permits;
+        this.awaitTermination = awaitTermination;
+        this.taskDecorator = taskDecorator;
+    }
+
+    // 빌드 대상이 Java 11 이라서 가상 스레드(Java 21)는 실행 중인 JVM 이 지원할 때만 리플렉션으로 꺼내 쓴다.
+    static Optional<ExecutorService> newVirtualThreadPerTaskExecutor() {
+        try {
+            return Optional.of((ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null));
+        } catch (ReflectiveOperationException e) {
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public void execute(Runnable runnable) {
+        Runnable task = taskDecorator.decorate(runnable);
+        executorService.execute(() -> {
+            try {
+                permits.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                log.warn("{} task was interrupted while waiting for a permit", name);
+                return;
+            }
+
+            activeCount.incrementAndGet();
+            try {
+                task.run();
+            } finally {
+                activeCount.decrementAndGet();
+                permits.release();
+            }
+        });
+    }
+
+    int getActiveCount() {
+        return activeCount.get();
+    }
+
+    int getWaitingCount() {
+        return permits.getQueueLength();
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        executorService.shutdown();
+        if (!executorService.awaitTermination(awaitTermination.toMillis(), TimeUnit.MILLISECONDS)) {
+            log.warn("{} executor did not finish its tasks within {}", name, awaitTermination);
+        }
+    }
+}
@@ -5,9 +5,11 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.boot.autoconfigure.security.StaticResourceLocation;
 import org.springframework.boot.autoconfigure.security.servlet.PathRequest;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import javax.persistence.EntityManagerFactory;
 import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -16,7 +18,12 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class WebConfig implements WebMvcConfigurer {
 
+    // 알림 스트림(SSE)은 연결이 최대 30분 이어지는데, 그동안 뷰 렌더링용 EntityManager 가 DB 커넥션을 붙잡지 않도록 OSIV 에서 뺀다.
+    static final String NOTIFICATION_STREAM_PATH = "/notifications/stream";
+
     private final NotificationInterceptor notificationInterceptor;
+    private final EntityManagerFactory entityManagerFactory;
+
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
 
@@ -26,6 +33,12 @@ public class WebConfig implements WebMvcConfigurer {
 
         staticResourcePath.add("/node_modules/**");
 
+        // spring.jpa.open-in-view=false 로 끄고 스트림만 빼서 다시 등록한다.
+        OpenEntityManagerInViewInterceptor openEntityManagerInViewInterceptor = new OpenEntityManagerInViewInterceptor();
+        openEntityManagerInViewInterceptor.setEntityManagerFactory(entityManagerFactory);
+        registry.addWebRequestInterceptor(openEntityManagerInViewInterceptor)
+            .excludePathPatterns(NOTIFICATION_STREAM_PATH);
+
         registry.addInterceptor(notificationInterceptor)
             .excludePathPatterns(staticResourcePath);
     }
@@ -0,0 +1,117 @@
+package com.studyolle.infra.mail;
+
+import com.studyolle.infra.config.AppProperties;
+import com.studyolle.infra.queue.ClaimableWorkProcessor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.mail.MessagingException;
+import javax.mail.internet.MimeMessage;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+// 발송 대기열에서 메일을 배치로 점유해서 SMTP 연결 하나로 한꺼번에 보낸다.
+// 초당 발송 수를 넘지 않도록 배치 사이에 쉬고, 실패한 메일은 간격을 늘려가며 다시 보낸다.
+@Slf4j
+@Profile("dev")
+@Component
+public class EmailQueueSender extends ClaimableWorkProcessor<QueuedEmail> {
+
+    private final QueuedEmailRepository queuedEmailRepository;
+    private final JavaMailSender javaMailSender;
+    private final AppProperties appProperties;
+
+    public EmailQueueSender(QueuedEmailRepository queuedEmailRepository, JavaMailSender javaMailSender,
+                            PlatformTransactionManager transactionManager, AppProperties appProperties) {
+        super(queuedEmailRepository, transactionManager);
+        this.queuedEmailRepository = queuedEmailRepository;
+        this.javaMailSender = javaMailSender;
+        this.appProperties = appProperties;
+    }
+
+    @Scheduled(fixedDelay = POLL_INTERVAL_MILLIS)
+    public void sendQueuedEmails() {
+        List<QueuedEmail> claimed;
+        do {
+            long startedAt = System.nanoTime();
+            claimed = claim(appProperties.getMailBatchSize());
+            if (!claimed.isEmpty()) {
+                send(claimed);
+            }
+            throttle(claimed.size(), startedAt);
+        } while (claimed.size() == appProperties.getMailBatchSize() && !Thread.currentThread().isInterrupted());
+    }
+
+    void send(List<QueuedEmail> queuedEmails) {
+        Map<MimeMessage, QueuedEmail> messages = new LinkedHashMap<>();
+        Map<QueuedEmail, String> failures = new HashMap<>();
+        for (QueuedEmail queuedEmail : queuedEmails) {
+            try {
+                messages.put(toMimeMessage(queuedEmail), queuedEmail);
+            } catch (MessagingException e) {
+                failures.put(queuedEmail, e.toString());
+            }
+        }
+
+        try {
+            // 메시지 배열을 한 번에 넘기면 JavaMailSender 가 연결 하나로 모두 보낸다.
+            javaMailSender.send(messages.keySet().toArray(new MimeMessage[0]));
+        } catch (MailSendException e) {
+            if (e.getFailedMessages().isEmpty()) {
+                messages.values().forEach(queuedEmail -> failures.put(queuedEmail, e.toString()));
+            }
+            e.getFailedMessages().forEach((message, exception) -> failures.put(messages.get(message), exception.toString()));
+        } catch (MailException e) {
+            messages.values().forEach(queuedEmail -> failures.put(queuedEmail, e.toString()));
+        }
+
+        complete(queuedEmails, failures);
+    }
+
+    private MimeMessage toMimeMessage(QueuedEmail queuedEmail) throws MessagingException {
+        MimeMessage mimeMessage = javaMailSender.createMimeMessage();
+        MimeMessageHelper mimeMessageHelper = new MimeMessageHelper(mimeMessage, false, "UTF-8");
+        mimeMessageHelper.setTo(queuedEmail.getRecipient());
+        mimeMessageHelper.setSubject(queuedEmail.getSubject());
+        mimeMessageHelper.setText(queuedEmail.getMessage(), true);
+        return mimeMessage;
+    }
+
+    private void complete(List<QueuedEmail> queuedEmails, Map<QueuedEmail, String> failures) {
+        List<Long> sentIds = queuedEmails.stream()
+                .filter(queuedEmail -> !failures.containsKey(queuedEmail))
+                .map(QueuedEmail::getId)
+                .collect(Collectors.toList());
+        if (!sentIds.isEmpty()) {
+            queuedEmailRepository.deleteSent(sentIds);
+            log.info("sent {} emails", sentIds.size());
+        }
+
+        if (!failures.isEmpty()) {
+            fail(failures.entrySet().stream().collect(Collectors.toMap(failure -> failure.getKey().getId(), Map.Entry::getValue)));
+        }
+    }
+
+    // 보낸 수만큼의 시간이 지나기 전에는 다음 배치를 보내지 않는다.
+    private void throttle(int sentCount, long startedAt) {
+        long minimumNanos = TimeUnit.SECONDS.toNanos(sentCount) / appProperties.getMailRatePerSecond();
+        long remainingNanos = minimumNanos - (System.nanoTime() - startedAt);
+        if (remainingNanos <= 0) {
+            return;
+        }
+
+        try {
+            TimeUnit.NANOSECONDS.sleep(remainingNanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
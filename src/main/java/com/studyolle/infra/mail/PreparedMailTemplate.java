@@ -0,0 +1,70 @@
+package com.studyolle.infra.mail;
+
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.context.Context;
+import org.unbescape.html.HtmlEscape;
+import org.unbescape.html.HtmlEscapeLevel;
+import org.unbescape.html.HtmlEscapeType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+// 수신자마다 달라지는 변수만 자리표시자로 남겨두고 나머지는 한 번만 렌더링해 둔 메일 본문.
+// 수신자별 값은 th:text 와 같은 방식으로 이스케이프해서 끼워 넣기 때문에 템플릿을 매번 처리한 결과와 같다.
+public class PreparedMailTemplate {
+
+    private static final String MARKER_SUFFIX = "__";
+
+    // 렌더링된 조각과 그 사이에 들어갈 변수 이름. segments 가 variables 보다 하나 많다.
+    private final List<String> segments;
+    private final List<String> variables;
+    private final int length;
+
+    private PreparedMailTemplate(List<String> segments, List<String> variables) {
+        this.segments = segments;
+        this.variables = variables;
+        this.length = segments.stream().mapToInt(String::length).sum();
+    }
+
+    public static PreparedMailTemplate prepare(TemplateEngine templateEngine, String template, Context context, String... recipientVariables) {
+        String markerPrefix = "__" + UUID.randomUUID() + "_";
+        for (int i = 0; i < recipientVariables.length; i++) {
+            context.setVariable(recipientVariables[i], markerPrefix + i + MARKER_SUFFIX);
+        }
+
+        String rendered = templateEngine.process(template, context);
+
+        List<String> segments = new ArrayList<>();
+        List<String> variables = new ArrayList<>();
+        int from = 0;
+        int markerStart;
+        while ((markerStart = rendered.indexOf(markerPrefix, from)) >= 0) {
+            int indexStart = markerStart + markerPrefix.length();
+            int markerEnd = rendered.indexOf(MARKER_SUFFIX, indexStart);
+            segments.add(rendered.substring(from, markerStart));
+            variables.add(recipientVariables[Integer.parseInt(rendered.substring(indexStart, markerEnd))]);
+            from = markerEnd + MARKER_SUFFIX.length();
+        }
+        segments.add(rendered.substring(from));
+        return new PreparedMailTemplate(segments, variables);
+    }
+
+    public String render(Map<String, String> recipientValues) {
+        StringBuilder message = new StringBuilder(length + 64);
+        for (int i = 0; i < variables.size(); i++) {
+            message.append(segments.get(i)).append(escape(recipientValues.get(variables.get(i))));
+        }
+        return message.append(segments.get(segments.size() - 1)).toString();
+    }
+
+    // th:text 가 쓰는 이스케이프 방식
+    private static String escape(String value) {
+        if (value == null) {
+            return "";
+        }
+        return HtmlEscape.escapeHtml(value, HtmlEscapeType.HTML4_NAMED_REFERENCES_DEFAULT_TO_DECIMAL,
+                HtmlEscapeLevel.LEVEL_1_ONLY_MARKUP_SIGNIFICANT);
+    }
+}
@@ -0,0 +1,39 @@
+package com.studyolle.infra.mail;
+
+import com.studyolle.infra.queue.ClaimableWork;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+// 발송을 기다리는 메일. 점유와 재시도는 ClaimableWork 를 따른다.
+@Entity
+@Getter
+@Setter
+@EqualsAndHashCode(of = "id", callSuper = false)
+@Table(indexes = @Index(columnList = "status, nextAttemptAt"))
+public class QueuedEmail extends ClaimableWork {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "queued_email_seq")
+    @SequenceGenerator(name = "queued_email_seq", sequenceName = "queued_email_seq", allocationSize = 50)
+    private Long id;
+
+    private String recipient;
+
+    private String subject;
+
+    @Column(columnDefinition = "text")
+    private String message;
+
+    public static QueuedEmail of(EmailMessage emailMessage, LocalDateTime now) {
+        QueuedEmail queuedEmail = new QueuedEmail();
+        queuedEmail.setRecipient(emailMessage.getTo());
+        queuedEmail.setSubject(emailMessage.getSubject());
+        queuedEmail.setMessage(emailMessage.getMessage());
+        queuedEmail.queue(now);
+        return queuedEmail;
+    }
+}
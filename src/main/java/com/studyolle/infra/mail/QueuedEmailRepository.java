@@ -0,0 +1,18 @@
+package com.studyolle.infra.mail;
+
+import com.studyolle.infra.queue.ClaimableWorkRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+
+@Transactional(readOnly = true)
+public interface QueuedEmailRepository extends ClaimableWorkRepository<QueuedEmail> {
+
+    @Modifying
+    @Transactional
+    @Query("delete from QueuedEmail e where e.id in :ids")
+    int deleteSent(@Param("ids") Collection<Long> ids);
+}
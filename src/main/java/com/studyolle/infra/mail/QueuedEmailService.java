@@ -0,0 +1,24 @@
+package com.studyolle.infra.mail;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+// 메일을 바로 보내지 않고 발송 대기열에 넣는다. 실제 발송은 EmailQueueSender 가 한다.
+@Profile("dev")
+@Component
+@RequiredArgsConstructor
+public class QueuedEmailService implements EmailService {
+
+    private final QueuedEmailRepository queuedEmailRepository;
+
+    // 호출한 쪽 트랜잭션에 함께 저장되기 때문에 롤백된 작업의 메일은 나가지 않는다.
+    @Transactional
+    @Override
+    public void sendEmail(EmailMessage emailMessage) {
+        queuedEmailRepository.save(QueuedEmail.of(emailMessage, LocalDateTime.now()));
+    }
+}
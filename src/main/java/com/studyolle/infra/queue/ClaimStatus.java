@@ -0,0 +1,6 @@
+package com.studyolle.infra.queue;
+
+public enum ClaimStatus {
+
+    PENDING, PROCESSING, FAILED
+}
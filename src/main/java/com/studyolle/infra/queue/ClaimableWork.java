@@ -0,0 +1,63 @@
+package com.studyolle.infra.queue;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import javax.persistence.Column;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.MappedSuperclass;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+// 여러 노드가 나눠서 점유하고 처리하는 작업 행(outbox 요청, 발송 대기 메일)의 공통 상태.
+// 처리에 성공하면 행을 지우고, 실패하면 점점 간격을 늘려가며 다시 시도하다가 최대 횟수를 넘기면 FAILED 로 남긴다.
+@Getter
+@Setter
+@MappedSuperclass
+public abstract class ClaimableWork {
+
+    public static final int MAX_ATTEMPTS = 10;
+    public static final Duration MAX_BACKOFF = Duration.ofMinutes(10);
+
+    @Enumerated(EnumType.STRING)
+    private ClaimStatus status;
+
+    private int attempts;
+
+    private LocalDateTime createdDateTime;
+
+    // PENDING 이면 다음 시도 시각, PROCESSING 이면 점유가 풀리는 시각
+    private LocalDateTime nextAttemptAt;
+
+    @Column(length = 1000)
+    private String lastError;
+
+    protected void queue(LocalDateTime now) {
+        this.status = ClaimStatus.PENDING;
+        this.createdDateTime = now;
+        this.nextAttemptAt = now;
+    }
+
+    public void claim(LocalDateTime leaseExpiresAt) {
+        this.status = ClaimStatus.PROCESSING;
+        this.nextAttemptAt = leaseExpiresAt;
+    }
+
+    public void fail(String error, LocalDateTime now) {
+        this.attempts++;
+        this.lastError = error != null && error.length() > 1000 ? error.substring(0, 1000) : error;
+        if (this.attempts >= MAX_ATTEMPTS) {
+            this.status = ClaimStatus.FAILED;
+            return;
+        }
+
+        this.status = ClaimStatus.PENDING;
+        this.nextAttemptAt = now.plus(backoff(this.attempts));
+    }
+
+    public static Duration backoff(int attempts) {
+        Duration backoff = Duration.ofSeconds(1L << Math.min(attempts, 20));
+        return backoff.compareTo(MAX_BACKOFF) > 0 ? MAX_BACKOFF : backoff;
+    }
+}
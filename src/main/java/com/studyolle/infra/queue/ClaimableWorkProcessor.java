@@ -0,0 +1,49 @@
+package com.studyolle.infra.queue;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+// 작업 행을 주기적으로 폴링해서 배치 단위로 점유하고, 실패한 작업의 재시도를 기록한다. (OutboxDispatcher, EmailQueueSender)
+@Slf4j
+public abstract class ClaimableWorkProcessor<T extends ClaimableWork> {
+
+    public static final long POLL_INTERVAL_MILLIS = 1000;
+    public static final Duration LEASE = Duration.ofMinutes(5);
+
+    private final ClaimableWorkRepository<T> repository;
+    protected final TransactionTemplate transactionTemplate;
+
+    protected ClaimableWorkProcessor(ClaimableWorkRepository<T> repository, PlatformTransactionManager transactionManager) {
+        this.repository = repository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    protected List<T> claim(int limit) {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<T> claimed = repository.findClaimable(now, PageRequest.of(0, limit));
+            claimed.forEach(work -> work.claim(now.plus(LEASE)));
+            return claimed;
+        });
+    }
+
+    // 작업 id 별 오류. 다시 읽어서 기록하기 때문에 그 사이에 다른 노드가 처리한 작업은 건너뛴다.
+    protected void fail(Map<Long, String> errors) {
+        transactionTemplate.executeWithoutResult(status -> errors.forEach((id, error) -> repository.findById(id)
+                .ifPresent(work -> {
+                    work.fail(error, LocalDateTime.now());
+                    if (work.getStatus() == ClaimStatus.FAILED) {
+                        log.error("gave up {} {} after {} attempts: {}", work.getClass().getSimpleName(), id, work.getAttempts(), error);
+                    } else {
+                        log.warn("{} {} failed on attempt {}: {}", work.getClass().getSimpleName(), id, work.getAttempts(), error);
+                    }
+                })));
+    }
+}
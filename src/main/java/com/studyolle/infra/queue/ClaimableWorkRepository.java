@@ -0,0 +1,31 @@
+package com.studyolle.infra.queue;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.NoRepositoryBean;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@NoRepositoryBean
+@Transactional(readOnly = true)
+public interface ClaimableWorkRepository<T extends ClaimableWork> extends JpaRepository<T, Long> {
+
+    // 다른 노드가 잠근 행은 건너뛰기 때문에(lock timeout -2 = SKIP LOCKED) 여러 노드가 동시에 폴링해도 서로 다른 배치를 가져간다.
+    // 점유 시간이 지난 PROCESSING 행은 처리하던 노드가 죽은 것으로 보고 다시 가져간다.
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "javax.persistence.lock.timeout", value = "-2"))
+    @Query("select w from #{#entityName} w" +
+            " where w.status <> com.studyolle.infra.queue.ClaimStatus.FAILED and w.nextAttemptAt <= :now" +
+            " order by w.id")
+    List<T> findClaimable(@Param("now") LocalDateTime now, Pageable pageable);
+}
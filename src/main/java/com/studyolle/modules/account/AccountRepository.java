@@ -2,9 +2,12 @@ package com.studyolle.modules.account;
 
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.querydsl.QuerydslPredicateExecutor;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+
 @Transactional(readOnly = true)
 public interface AccountRepository  extends JpaRepository<Account, Long>, QuerydslPredicateExecutor<Account> {
     boolean existsByEmail(String email);
@@ -17,4 +20,12 @@ public interface AccountRepository  extends JpaRepository<Account, Long>, Queryd
 
     @EntityGraph(attributePaths = {"tags", "zones"})
     Account findAccountWithTagsAndZonesById(Long id);
+
+    // (account id, tag id)
+    @Query("select a.id, t.id from Account a join a.tags t")
+    List<Object[]> findAllTagSubscriptions();
+
+    // (account id, zone id)
+    @Query("select a.id, z.id from Account a join a.zones z")
+    List<Object[]> findAllZoneSubscriptions();
 }
@@ -11,6 +11,7 @@ import com.studyolle.modules.zone.Zone;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.modelmapper.ModelMapper;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -39,6 +40,8 @@ public class AccountService implements UserDetailsService {
     private final ModelMapper modelMapper;
     private final TemplateEngine templateEngine;
     private final AppProperties appProperties;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AccountSubscriptionIndex accountSubscriptionIndex;
 
     @Transactional  // repository 계층에서 transaction 이 끝나기 때문에 detached 된 newAccount 에 대해서 persist상태를 유지하기 위해 transaction 사용
     public Account processNewAccount(SignUpForm signUpForm) {
@@ -119,6 +122,7 @@ public class AccountService implements UserDetailsService {
     public void completeSignUp(Account account) {
         account.completeSignUp();
         login(account);
+        eventPublisher.publishEvent(new AccountUpdatedEvent(account));
     }
 
     public void updateProfile(Account account, Profile profile) {
@@ -131,6 +135,7 @@ public class AccountService implements UserDetailsService {
 //        account.setProfileImage(profile.getProfileImage());
 
         accountRepository.save(account);
+        eventPublisher.publishEvent(new AccountUpdatedEvent(account));
     }
 
     public void updatePassword(Account account, String newPassword) {
@@ -156,6 +161,7 @@ public class AccountService implements UserDetailsService {
         account.setNickname(nickname);
         accountRepository.save(account);
         login(account);
+        eventPublisher.publishEvent(new AccountUpdatedEvent(account));
     }
 
     public void sendLoginLink(Account account) {
@@ -182,7 +188,11 @@ public class AccountService implements UserDetailsService {
 
     public void addTag(Account account, Tag tag) {
         Optional<Account> byId = accountRepository.findById(account.getId());
-        byId.ifPresent(a -> a.getTags().add(tag));
+        byId.ifPresent(a -> {
+            a.getTags().add(tag);
+            accountSubscriptionIndex.addTag(a, tag);
+        });
+        eventPublisher.publishEvent(new AccountUpdatedEvent(account));
     }
 
     public Set<Tag> getTags(Account account) {
@@ -193,7 +203,11 @@ public class AccountService implements UserDetailsService {
 
     public void removeTag(Account account, Tag tag) {
         Optional<Account> byId = accountRepository.findById(account.getId());
-        byId.ifPresent(a -> a.getTags().remove(tag));
+        byId.ifPresent(a -> {
+            a.getTags().remove(tag);
+            accountSubscriptionIndex.removeTag(a, tag);
+        });
+        eventPublisher.publishEvent(new AccountUpdatedEvent(account));
     }
 
     public Set<Zone> getZone(Account account) {
@@ -203,12 +217,20 @@ public class AccountService implements UserDetailsService {
 
     public void addZone(Account account, Zone zone) {
         Optional<Account> byId = accountRepository.findById(account.getId());
-        byId.ifPresent(a -> a.getZones().add(zone));
+        byId.ifPresent(a -> {
+            a.getZones().add(zone);
+            accountSubscriptionIndex.addZone(a, zone);
+        });
+        eventPublisher.publishEvent(new AccountUpdatedEvent(account));
     }
 
     public void removeZone(Account account, Zone zone) {
         Optional<Account> byId = accountRepository.findById(account.getId());
-        byId.ifPresent(a -> a.getZones().remove(zone));
+        byId.ifPresent(a -> {
+            a.getZones().remove(zone);
+            accountSubscriptionIndex.removeZone(a, zone);
+        });
+        eventPublisher.publishEvent(new AccountUpdatedEvent(account));
     }
 
     public Account getAccount(String nickname) {
@@ -0,0 +1,21 @@
+package com.studyolle.modules.account;
+
+import com.studyolle.infra.cluster.ClusterMessage;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+// 계정이 관심 태그나 관심 지역을 추가하거나 뺐다. tagId, zoneId 중 하나만 있다.
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccountSubscriptionChangedMessage implements ClusterMessage {
+
+    private Long accountId;
+
+    private Long tagId;
+
+    private Long zoneId;
+
+    private boolean subscribed;
+}
@@ -0,0 +1,111 @@
+package com.studyolle.modules.account;
+
+import com.studyolle.infra.cluster.ClusterBroadcaster;
+import com.studyolle.infra.cluster.ClusterResetEvent;
+import com.studyolle.modules.tag.Tag;
+import com.studyolle.modules.zone.Zone;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.longlong.Roaring64NavigableMap;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import static com.studyolle.infra.transaction.TransactionCallbacks.afterCommit;
+
+// 태그, 지역마다 그것을 관심사로 등록한 계정 id 를 압축 비트맵으로 들고 있는다.
+// 새 스터디 알림 대상(관심 태그 중 하나 이상 그리고 관심 지역 중 하나 이상)을 account_tags, account_zones 조인 없이
+// 태그별 비트맵 OR, 지역별 비트맵 OR 의 AND 로 구한다. AccountService 가 태그/지역을 바꿀 때 커밋 후에 같이 바꾼다.
+// 노드마다 따로 들고 있으니 바뀐 내용은 ClusterBroadcaster 로 다른 노드에도 알린다.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AccountSubscriptionIndex {
+
+    private final AccountRepository accountRepository;
+    private final ClusterBroadcaster clusterBroadcaster;
+
+    private final Map<Long, Roaring64NavigableMap> accountsByTag = new HashMap<>();
+    private final Map<Long, Roaring64NavigableMap> accountsByZone = new HashMap<>();
+
+    // 다른 노드의 메시지를 놓쳤을 수 있을 때도 처음부터 다시 만든다.
+    // 읽는 동안 잠금을 쥐고 있어서 그 사이 커밋된 변경은 다 읽은 뒤에 반영되고 덮어써지지 않는다.
+    @PostConstruct
+    @EventListener(ClusterResetEvent.class)
+    public synchronized void initIndex() {
+        accountsByTag.clear();
+        accountsByZone.clear();
+        accountRepository.findAllTagSubscriptions().forEach(row -> add(accountsByTag, (Long) row[1], (Long) row[0]));
+        accountRepository.findAllZoneSubscriptions().forEach(row -> add(accountsByZone, (Long) row[1], (Long) row[0]));
+        log.info("indexed subscriptions of {} tags and {} zones", accountsByTag.size(), accountsByZone.size());
+    }
+
+    // 돌려주는 비트맵은 복사본이라 호출하는 쪽에서 천천히 읽어도 된다.
+    public synchronized Roaring64NavigableMap findAccountIds(Set<Tag> tags, Set<Zone> zones) {
+        Roaring64NavigableMap accountIds = union(accountsByTag, tags.stream().map(Tag::getId).toArray(Long[]::new));
+        accountIds.and(union(accountsByZone, zones.stream().map(Zone::getId).toArray(Long[]::new)));
+        return accountIds;
+    }
+
+    public void addTag(Account account, Tag tag) {
+        change(new AccountSubscriptionChangedMessage(account.getId(), tag.getId(), null, true));
+    }
+
+    public void removeTag(Account account, Tag tag) {
+        change(new AccountSubscriptionChangedMessage(account.getId(), tag.getId(), null, false));
+    }
+
+    public void addZone(Account account, Zone zone) {
+        change(new AccountSubscriptionChangedMessage(account.getId(), null, zone.getId(), true));
+    }
+
+    public void removeZone(Account account, Zone zone) {
+        change(new AccountSubscriptionChangedMessage(account.getId(), null, zone.getId(), false));
+    }
+
+    // 다른 노드에서 바뀐 관심사
+    @EventListener
+    public void handleAccountSubscriptionChanged(AccountSubscriptionChangedMessage message) {
+        Map<Long, Roaring64NavigableMap> index = message.getTagId() != null ? accountsByTag : accountsByZone;
+        Long key = message.getTagId() != null ? message.getTagId() : message.getZoneId();
+        if (message.isSubscribed()) {
+            add(index, key, message.getAccountId());
+        } else {
+            remove(index, key, message.getAccountId());
+        }
+    }
+
+    private void change(AccountSubscriptionChangedMessage message) {
+        clusterBroadcaster.broadcast(message);
+        afterCommit(() -> handleAccountSubscriptionChanged(message));
+    }
+
+    private synchronized void add(Map<Long, Roaring64NavigableMap> index, Long key, Long accountId) {
+        index.computeIfAbsent(key, k -> new Roaring64NavigableMap()).addLong(accountId);
+    }
+
+    private synchronized void remove(Map<Long, Roaring64NavigableMap> index, Long key, Long accountId) {
+        Roaring64NavigableMap accountIds = index.get(key);
+        if (accountIds != null) {
+            accountIds.removeLong(accountId);
+            if (accountIds.isEmpty()) {
+                index.remove(key);
+            }
+        }
+    }
+
+    private Roaring64NavigableMap union(Map<Long, Roaring64NavigableMap> index, Long[] keys) {
+        Roaring64NavigableMap result = new Roaring64NavigableMap();
+        for (Long key : keys) {
+            Roaring64NavigableMap accountIds = index.get(key);
+            if (accountIds != null) {
+                result.or(accountIds);
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,12 @@
+package com.studyolle.modules.account;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public class AccountUpdatedEvent {
+
+    private final Account account;
+
+}
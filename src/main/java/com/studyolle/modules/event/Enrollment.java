@@ -14,7 +14,11 @@ import java.time.LocalDateTime;
         },
         subgraphs = @NamedSubgraph(name = "study", attributeNodes = @NamedAttributeNode("study")))
 
+// 같은 계정이 동시에 두 번 신청해도 참가 신청은 하나만 남는다.
+// 대기자는 (event_id, accepted, enrolled_at) 인덱스를 따라 신청한 순서대로 확정한다.
 @Entity
+@Table(uniqueConstraints = @UniqueConstraint(columnNames = {"event_id", "account_id"}),
+        indexes = @Index(name = "enrollment_waiting_idx", columnList = "event_id, accepted, enrolledAt"))
 @Getter @Setter @EqualsAndHashCode(of = "id")
 public class Enrollment {
 
@@ -0,0 +1,9 @@
+package com.studyolle.modules.event;
+
+// 참가 신청을 엔티티로 읽지 않고 상태를 바꿀 때 필요한 id 와 신청한 계정 id
+public interface EnrollmentAccountId {
+
+    Long getId();
+
+    Long getAccountId();
+}
@@ -0,0 +1,7 @@
+package com.studyolle.modules.event;
+
+// 모임 관리자가 여러 참가 신청에 한 번에 적용하는 작업
+public enum EnrollmentOperation {
+
+    ACCEPT, REJECT, CHECK_IN, CANCEL_CHECK_IN
+}
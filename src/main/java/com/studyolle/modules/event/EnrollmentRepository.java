@@ -2,17 +2,54 @@ package com.studyolle.modules.event;
 
 import com.studyolle.modules.account.Account;
 import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Set;
 
 @Transactional(readOnly = true)
-public interface EnrollmentRepository extends JpaRepository<Enrollment, Long> {
+public interface EnrollmentRepository extends JpaRepository<Enrollment, Long>, EnrollmentRepositoryExtension {
     boolean existsByEventAndAccount(Event event, Account account);
 
     Enrollment findByEventAndAccount(Event event, Account account);
 
     @EntityGraph("Enrollment.withEventAndStudy")
     Set<Enrollment> findAllByAccountAndAcceptedOrderByEnrolledAtDesc(Account findAccount, boolean accepted);
+
+    @EntityGraph(attributePaths = {"account", "event", "event.study"})
+    List<Enrollment> findWithAccountAndEventByIdIn(Collection<Long> ids);
+
+    // 관리자가 고른 참가 신청 중에서 수락(거절)할 수 있는 것만 신청한 순서대로 고른다.
+    @Query("select e.id as id, e.account.id as accountId from Enrollment e where e.event = :event and e.id in :ids" +
+            " and e.accepted = :accepted and e.attended = false order by e.enrolledAt, e.id")
+    List<EnrollmentAccountId> findIdsByAccepted(@Param("event") Event event, @Param("ids") Collection<Long> ids,
+                                 @Param("accepted") boolean accepted, Pageable pageable);
+
+    // 벌크 UPDATE 는 영속성 컨텍스트를 거치지 않으므로 쌓인 변경을 먼저 반영한다.
+    // 영속성 컨텍스트를 비우지 않으니 이미 읽어 둔 참가 신청은 refreshIfLoaded 로 맞춘다.
+    @Transactional
+    @Modifying(flushAutomatically = true)
+    @Query("update Enrollment e set e.accepted = :accepted where e.id in :ids")
+    int updateAccepted(@Param("ids") Collection<Long> ids, @Param("accepted") boolean accepted);
+
+    // 확정된 참가 신청만 체크인할 수 있다.
+    @Transactional
+    @Modifying(flushAutomatically = true)
+    @Query("update Enrollment e set e.attended = :attended" +
+            " where e.event = :event and e.id in :ids and e.accepted = true and e.attended <> :attended")
+    int updateAttended(@Param("event") Event event, @Param("ids") Collection<Long> ids, @Param("attended") boolean attended);
+
+    // 대기 순서(enrolled_at, id)대로 앞의 count 명을 UPDATE 한 번으로 확정하고 확정한 참가 신청의 (id, account_id) 를 돌려준다.
+    // 결과를 돌려받아야 해서 @Modifying 을 쓸 수 없으니, 이미 읽어 둔 참가 신청은 refreshIfLoaded 로 맞춘다.
+    @Transactional
+    @Query(value = "update enrollment e set accepted = true from (" +
+            " select id from enrollment where event_id = :eventId and accepted = false order by enrolled_at, id limit :count" +
+            ") waiting where e.id = waiting.id returning e.id, e.account_id", nativeQuery = true)
+    List<Object[]> acceptWaitingEnrollments(@Param("eventId") Long eventId, @Param("count") int count);
 }
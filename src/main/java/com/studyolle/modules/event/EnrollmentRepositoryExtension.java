@@ -0,0 +1,9 @@
+package com.studyolle.modules.event;
+
+import java.util.Collection;
+
+public interface EnrollmentRepositoryExtension {
+
+    // 벌크 UPDATE 로 바꾼 참가 신청 중 영속성 컨텍스트에 이미 올라온 것만 다시 읽는다.
+    void refreshIfLoaded(Collection<Long> ids);
+}
@@ -0,0 +1,23 @@
+package com.studyolle.modules.event;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Hibernate;
+
+import javax.persistence.EntityManager;
+import java.util.Collection;
+
+@RequiredArgsConstructor
+public class EnrollmentRepositoryExtensionImpl implements EnrollmentRepositoryExtension {
+
+    private final EntityManager entityManager;
+
+    // getReference 는 이미 읽어 둔 엔티티면 그 엔티티를, 아니면 조회하지 않은 프록시를 돌려준다.
+    // 프록시는 나중에 처음 쓸 때 바뀐 값을 읽으므로 이미 읽어 둔 엔티티만 refresh 한다.
+    @Override
+    public void refreshIfLoaded(Collection<Long> ids) {
+        ids.stream()
+                .map(id -> entityManager.getReference(Enrollment.class, id))
+                .filter(Hibernate::isInitialized)
+                .forEach(entityManager::refresh);
+    }
+}
@@ -1,17 +1,16 @@
 package com.studyolle.modules.event;
 
 import com.studyolle.modules.account.Account;
-import com.studyolle.modules.account.UserAccount;
 import com.studyolle.modules.study.Study;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
 
 import javax.persistence.*;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @NamedEntityGraph(name = "Event.withEnrollments", attributeNodes = {
         @NamedAttributeNode("enrollments")
@@ -19,6 +18,7 @@ import java.util.stream.Collectors;
 
 
 @Entity
+@Table(indexes = @Index(name = "event_study_end_idx", columnList = "study_id, endDateTime"))
 @Getter @Setter @EqualsAndHashCode(of = "id")
 public class Event {
 
@@ -51,38 +51,37 @@ public class Event {
 
     private Integer limitOfEnrollments;
 
+    // 확정, 대기 중인 참가 신청 수. 목록 화면이 enrollments 를 읽지 않고도 남은 자리를 보여줄 수 있게 모임에 같이 저장한다.
+    // 동시에 신청해도 모집 인원을 넘지 않도록 EventRepository 의 조건부 UPDATE 로만 바꾸고,
+    // 변경 감지가 오래된 값으로 덮어쓰지 않게 updatable = false 로 둔다.
+    // 기존 데이터베이스에 컬럼을 추가할 때는 참가 신청 수로 채워 넣어야 한다. (커밋 메시지의 마이그레이션 참고)
+    @Column(nullable = false, updatable = false)
+    @ColumnDefault("0")
+    private int numberOfAcceptedEnrollments;
+
+    @Column(nullable = false, updatable = false)
+    @ColumnDefault("0")
+    private int numberOfWaitingEnrollments;
+
     @OneToMany(mappedBy = "event", fetch = FetchType.LAZY)
+    @OrderBy("enrolledAt")
     private List<Enrollment> enrollments = new ArrayList<>();
 
     @Enumerated(EnumType.STRING)
     private EventType eventType;
 
-    public boolean isEnrollableFor(UserAccount userAccount) {
-        return isNotClosed() && !isAttended(userAccount) && !isAlreadyEnrolled(userAccount);
+    // 현재 사용자의 참가 신청(없으면 null)은 EnrollmentRepository 에서 따로 조회해서 넘겨받는다.
+    // 참가 신청이 많은 모임에서도 enrollments 를 훑지 않고 확인할 수 있다.
+    public boolean isEnrollableFor(Enrollment enrollment) {
+        return isNotClosed() && enrollment == null;
     }
 
-    public boolean isDisenrollableFor(UserAccount userAccount) {
-        return isNotClosed() && !isAttended(userAccount) &&  isAlreadyEnrolled(userAccount);
+    public boolean isDisenrollableFor(Enrollment enrollment) {
+        return isNotClosed() && enrollment != null && !enrollment.isAttended();
     }
 
-
-    public boolean isAttended(UserAccount userAccount) {
-        Account account = userAccount.getAccount();
-        for (Enrollment e : this.enrollments) {
-            if (e.getAccount().equals(account) && e.isAttended()) {
-                return true;
-            }
-        }
-        return false;
-    }
-    private boolean isAlreadyEnrolled(UserAccount userAccount) {
-        Account account = userAccount.getAccount();
-        for (Enrollment e : this.enrollments) {
-            if (e.getAccount().equals(account)) {
-                return true;
-            }
-        }
-        return false;
+    public boolean isAttended(Enrollment enrollment) {
+        return enrollment != null && enrollment.isAttended();
     }
 
     private boolean isNotClosed() {
@@ -90,29 +89,35 @@ public class Event {
     }
 
     public int numberOfRemainSpots() {
-        return this.limitOfEnrollments - (int) this.enrollments.stream().filter(Enrollment::isAccepted).count();
+        return this.limitOfEnrollments - this.numberOfAcceptedEnrollments;
+    }
+
+    public int getNumberOfEnrollments() {
+        return this.numberOfAcceptedEnrollments + this.numberOfWaitingEnrollments;
     }
 
-    public Integer getNumberOfAcceptedEnrollments() {
-        return (int) this.enrollments.stream().filter(Enrollment::isAccepted).count();
+    // DB 의 인원 수를 바꾼 뒤 같은 요청 안에서 보이는 값도 맞춰 둔다.
+    public void changeNumberOfEnrollments(int acceptedDelta, int waitingDelta) {
+        this.numberOfAcceptedEnrollments += acceptedDelta;
+        this.numberOfWaitingEnrollments += waitingDelta;
     }
 
     public boolean canAccept(Enrollment enrollment) {
         return this.eventType == EventType.CONFIRMATIVE
-                && this.enrollments.contains(enrollment)
+                && this.equals(enrollment.getEvent())
                 && !enrollment.isAttended()
                 && !enrollment.isAccepted();
     }
 
     public boolean canReject(Enrollment enrollment) {
         return this.eventType == EventType.CONFIRMATIVE
-                && this.enrollments.contains(enrollment)
+                && this.equals(enrollment.getEvent())
                 && !enrollment.isAttended()
                 && enrollment.isAccepted();
     }
 
     public boolean isAbleToAcceptWaitingEnrollment() {
-        return this.eventType == EventType.FCFS && this.limitOfEnrollments > this.getNumberOfAcceptedEnrollments();
+        return this.eventType == EventType.FCFS && this.limitOfEnrollments > this.numberOfAcceptedEnrollments;
     }
 
     public void addEnrollment(Enrollment enrollment) {
@@ -125,48 +130,4 @@ public class Event {
         this.enrollments.remove(enrollment);
         enrollment.setEvent(null);
     }
-
-    private Enrollment getTheFirstWaitingEnrollment() {
-        for (Enrollment e : this.enrollments) {
-            if (!e.isAccepted()) {
-                return e;
-            }
-        }
-        return null;
-    }
-
-    public void acceptNextWaitingEnrollment() {
-        if (this.isAbleToAcceptWaitingEnrollment()) {
-            Enrollment enrollmentToAccept = this.getTheFirstWaitingEnrollment();
-            if (enrollmentToAccept != null) {
-                enrollmentToAccept.setAccepted(true);
-            }
-        }
-    }
-
-    public void acceptWaitingList() {
-        if (this.isAbleToAcceptWaitingEnrollment()) {
-            var waitingList = getWaitingList();
-            int numberToAccept = (int) Math.min(this.limitOfEnrollments - this.getNumberOfAcceptedEnrollments(), waitingList.size());
-            waitingList.subList(0, numberToAccept).forEach(e -> e.setAccepted(true));
-
-        }
-    }
-
-    private List<Enrollment> getWaitingList() {
-        return this.enrollments.stream().filter(enrollment -> !enrollment.isAccepted()).collect(Collectors.toList());
-    }
-
-    public void accept(Enrollment enrollment) {
-        if (this.eventType == EventType.CONFIRMATIVE
-                && this.limitOfEnrollments > this.getNumberOfAcceptedEnrollments()) {
-            enrollment.setAccepted(true);
-        }
-    }
-
-    public void reject(Enrollment enrollment) {
-        if (this.eventType == EventType.CONFIRMATIVE) {
-            enrollment.setAccepted(false);
-        }
-    }
 }
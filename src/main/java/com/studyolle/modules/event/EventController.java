@@ -8,6 +8,7 @@ import com.studyolle.modules.study.Study;
 import com.studyolle.modules.study.StudyService;
 import lombok.RequiredArgsConstructor;
 import org.modelmapper.ModelMapper;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.Errors;
@@ -17,14 +18,15 @@ import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import javax.validation.Valid;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Set;
 
 @Controller
 @RequestMapping("/study/{path}")
 @RequiredArgsConstructor
 public class EventController {
 
+    private static final int EVENT_PAGE_SIZE = 10;
+
     private final StudyService studyService;
     private final EventService eventService;
     private final EventRepository eventRepository;
@@ -69,30 +71,24 @@ public class EventController {
         model.addAttribute(account);
         model.addAttribute(event);
         model.addAttribute(studyService.getStudy(path));
+        model.addAttribute("myEnrollment", account == null ? null : enrollmentRepository.findByEventAndAccount(event, account));
 
         return "event/view";
     }
 
     @GetMapping("/events")
-    public String viewStudyEvents(@CurrentUser Account account, @PathVariable String path, Model model) {
+    public String viewStudyEvents(@CurrentUser Account account, @PathVariable String path,
+                                  @RequestParam(defaultValue = "0") int newPage, @RequestParam(defaultValue = "0") int oldPage,
+                                  Model model) {
         Study study = studyService.getStudy(path);
         model.addAttribute(account);
         model.addAttribute(study);
 
-        List<Event> events = eventRepository.findByStudyOrderByStartDateTime(study);
-        List<Event> newEvents = new ArrayList<>();
-        List<Event> oldEvents = new ArrayList<>();
-
-        events.forEach(e -> {
-            if (e.getEndDateTime().isBefore(LocalDateTime.now())) {
-                oldEvents.add(e);
-            } else {
-                newEvents.add(e);
-            }
-        });
-
-        model.addAttribute("newEvents", newEvents);
-        model.addAttribute("oldEvents", oldEvents);
+        LocalDateTime now = LocalDateTime.now();
+        model.addAttribute("newEvents", eventRepository.findByStudyAndEndDateTimeGreaterThanEqualOrderByStartDateTime(study, now,
+                PageRequest.of(Math.max(newPage, 0), EVENT_PAGE_SIZE)));
+        model.addAttribute("oldEvents", eventRepository.findByStudyAndEndDateTimeBeforeOrderByStartDateTimeDesc(study, now,
+                PageRequest.of(Math.max(oldPage, 0), EVENT_PAGE_SIZE)));
 
         return "study/events";
     }
@@ -153,6 +149,20 @@ public class EventController {
         return "redirect:/study/" + study.getEncodedPath() + "/events/" + event.getId();
     }
 
+    // 관리자가 고른 여러 참가 신청을 한 번에 수락, 거절, 체크인한다.
+    @PostMapping("/events/{id}/enrollments")
+    public String changeEnrollments(@CurrentUser Account account, @PathVariable String path, @PathVariable("id") Event event,
+                                    @RequestParam EnrollmentOperation operation,
+                                    @RequestParam(required = false) Set<Long> enrollmentIds) {
+        Study study = studyService.getStudyToUpdateStatus(account, path);
+        if (!study.equals(event.getStudy())) {
+            throw new IllegalArgumentException(path + " 스터디의 모임이 아닙니다.");
+        }
+
+        eventService.changeEnrollments(event, enrollmentIds == null ? Set.of() : enrollmentIds, operation);
+        return "redirect:/study/" + study.getEncodedPath() + "/events/" + event.getId();
+    }
+
     @GetMapping("/events/{eventId}/enrollments/{enrollmentId}/accept")
     public String acceptEnrollment(@CurrentUser Account account, @PathVariable String path,
                                    @PathVariable("eventId") Event event, @PathVariable("enrollmentId") Enrollment enrollment) {
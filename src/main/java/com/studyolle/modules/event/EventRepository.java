@@ -1,15 +1,55 @@
 package com.studyolle.modules.event;
 
 import com.studyolle.modules.study.Study;
-import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
+import java.time.LocalDateTime;
 
 @Transactional(readOnly = true)
 public interface EventRepository extends JpaRepository<Event, Long> {
-    @EntityGraph(value = "Event.withEnrollments", type = EntityGraph.EntityGraphType.FETCH)
-    List<Event> findByStudyOrderByStartDateTime(Study study);
+    // 목록 화면은 새 모임과 지난 모임을 (study_id, end_date_time) 인덱스로 나눠서 한 페이지씩 읽는다.
+    // 저장된 인원 수만 보여주므로 enrollments 는 읽지 않는다.
+    Page<EventSummary> findByStudyAndEndDateTimeGreaterThanEqualOrderByStartDateTime(Study study, LocalDateTime now, Pageable pageable);
 
+    Page<EventSummary> findByStudyAndEndDateTimeBeforeOrderByStartDateTimeDesc(Study study, LocalDateTime now, Pageable pageable);
+
+    // 남은 자리가 있을 때만 확정 인원을 늘린다. 1 이면 자리를 잡았고 0 이면 꽉 찬 것이다.
+    // 동시에 실행되면 행 잠금을 기다렸다가 바뀐 값으로 조건을 다시 확인하므로 모집 인원을 넘지 않는다.
+    // 대기자를 확정하는 경우에는 waitingDelta 로 대기 인원을 같이 줄인다.
+    @Transactional
+    @Modifying
+    @Query("update Event e set e.numberOfAcceptedEnrollments = e.numberOfAcceptedEnrollments + 1," +
+            " e.numberOfWaitingEnrollments = e.numberOfWaitingEnrollments + :waitingDelta" +
+            " where e.id = :id and e.numberOfAcceptedEnrollments < e.limitOfEnrollments")
+    int reserveSpot(@Param("id") Long id, @Param("waitingDelta") int waitingDelta);
+
+    @Transactional
+    @Modifying
+    @Query("update Event e set e.numberOfAcceptedEnrollments = e.numberOfAcceptedEnrollments - 1," +
+            " e.numberOfWaitingEnrollments = e.numberOfWaitingEnrollments + :waitingDelta" +
+            " where e.id = :id and e.numberOfAcceptedEnrollments > 0")
+    int releaseSpot(@Param("id") Long id, @Param("waitingDelta") int waitingDelta);
+
+    @Transactional
+    @Modifying
+    @Query("update Event e set e.numberOfWaitingEnrollments = e.numberOfWaitingEnrollments + :delta where e.id = :id")
+    int changeNumberOfWaitingEnrollments(@Param("id") Long id, @Param("delta") int delta);
+
+    // 남은 자리 수를 읽으면서 모임 행을 잠가서, 대기자를 확정하는 동안 새 신청자가 자리를 가져가지 못하게 한다.
+    @Transactional
+    @Query(value = "select limit_of_enrollments - number_of_accepted_enrollments from event where id = :id for update", nativeQuery = true)
+    int lockRemainSpots(@Param("id") Long id);
+
+    // 대기자를 확정하면 count 만큼, 확정을 취소하면 -count 만큼 확정 인원과 대기 인원을 옮긴다.
+    @Transactional
+    @Modifying
+    @Query("update Event e set e.numberOfAcceptedEnrollments = e.numberOfAcceptedEnrollments + :count," +
+            " e.numberOfWaitingEnrollments = e.numberOfWaitingEnrollments - :count where e.id = :id")
+    int moveWaitingEnrollments(@Param("id") Long id, @Param("count") int count);
 }
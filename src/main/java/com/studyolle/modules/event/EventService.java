@@ -1,7 +1,10 @@
 package com.studyolle.modules.event;
 
 import com.studyolle.modules.account.Account;
+import com.studyolle.modules.account.AccountRepository;
 import com.studyolle.modules.event.event.EnrollmentAcceptedEvent;
+import com.studyolle.modules.event.event.EnrollmentBatchEvent;
+import com.studyolle.modules.event.event.EnrollmentChangedEvent;
 import com.studyolle.modules.event.event.EnrollmentRejectedEvent;
 import com.studyolle.modules.event.form.EventForm;
 import com.studyolle.modules.study.Study;
@@ -9,10 +12,15 @@ import com.studyolle.modules.study.StudyUpdateEvent;
 import lombok.RequiredArgsConstructor;
 import org.modelmapper.ModelMapper;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
@@ -22,6 +30,7 @@ public class EventService {
     private final EventRepository eventRepository;
     private final ModelMapper modelMapper;
     private final EnrollmentRepository enrollmentRepository;
+    private final AccountRepository accountRepository;
     private final ApplicationEventPublisher eventPublisher;
 
     public Event createEvent(Event event, Study study, Account account) {
@@ -37,7 +46,11 @@ public class EventService {
 
     public void updateEvent(Event event, EventForm eventForm) {
         modelMapper.map(eventForm, event);
-        event.acceptWaitingList();
+        // 늘어난 모집 인원이 조건부 UPDATE 에 보이도록 먼저 반영한다.
+        eventRepository.flush();
+        if (event.getEventType() == EventType.FCFS) {
+            acceptWaitingEnrollments(event);
+        }
         eventPublisher.publishEvent(new StudyUpdateEvent(event.getStudy(), "'" + event.getTitle() + "' 모임의 정보를 수정했으니 확인하세요"));
 
     }
@@ -48,34 +61,53 @@ public class EventService {
 
     }
 
+    // 선착순 모임은 확정 인원 카운터에서 자리를 잡은 경우에만 바로 확정한다.
     public void newEnrollment(Event event, Account account) {
         if (!enrollmentRepository.existsByEventAndAccount(event, account)) {
             Enrollment enrollment = new Enrollment();
             enrollment.setEnrolledAt(LocalDateTime.now());
-            enrollment.setAccepted(event.isAbleToAcceptWaitingEnrollment());
+            enrollment.setAccepted(event.getEventType() == EventType.FCFS && reserveSpot(event, 0));
+            if (!enrollment.isAccepted()) {
+                changeNumberOfWaitingEnrollments(event, 1);
+            }
             enrollment.setAccount(account);
             event.addEnrollment(enrollment);
             enrollmentRepository.save(enrollment);
+            eventPublisher.publishEvent(new EnrollmentChangedEvent(event, account));
         }
     }
 
+    // 비운 자리는 같은 트랜잭션에서 다음 대기자가 잡기 때문에 그 사이에 새 신청자가 끼어들 수 없다.
     public void cancelEnrollment(Event event, Account account) {
         Enrollment enrollment = enrollmentRepository.findByEventAndAccount(event, account);
         if (!enrollment.isAttended()) {
             event.removeEnrollment(enrollment);
             enrollmentRepository.delete(enrollment);
-
-            event.acceptNextWaitingEnrollment();
+            if (enrollment.isAccepted()) {
+                releaseSpot(event, 0);
+            } else {
+                changeNumberOfWaitingEnrollments(event, -1);
+            }
+            eventPublisher.publishEvent(new EnrollmentChangedEvent(event, account));
+
+            if (event.getEventType() == EventType.FCFS) {
+                acceptWaitingEnrollments(event);
+            }
         }
     }
 
     public void acceptEnrollment(Event event, Enrollment enrollment) {
-        event.accept(enrollment);
+        if (event.getEventType() == EventType.CONFIRMATIVE && !enrollment.isAccepted() && reserveSpot(event, -1)) {
+            enrollment.setAccepted(true);
+        }
         eventPublisher.publishEvent(new EnrollmentAcceptedEvent(enrollment));
     }
 
     public void rejectEnrollment(Event event, Enrollment enrollment) {
-        event.reject(enrollment);
+        if (event.getEventType() == EventType.CONFIRMATIVE && enrollment.isAccepted()) {
+            enrollment.setAccepted(false);
+            releaseSpot(event, 1);
+        }
         eventPublisher.publishEvent(new EnrollmentRejectedEvent(enrollment));
 
     }
@@ -87,4 +119,114 @@ public class EventService {
     public void cancelCheckInEnrollment(Event event, Enrollment enrollment) {
         enrollment.setAttended(false);
     }
+
+    // 관리자가 고른 참가 신청들을 한 트랜잭션에서 UPDATE 한 번으로 바꾸고, 수락, 거절 알림은 한 번에 모아서 발행한다.
+    public int changeEnrollments(Event event, Set<Long> enrollmentIds, EnrollmentOperation operation) {
+        if (enrollmentIds.isEmpty()) {
+            return 0;
+        }
+
+        switch (operation) {
+            case ACCEPT:
+                return acceptEnrollments(event, enrollmentIds);
+            case REJECT:
+                return rejectEnrollments(event, enrollmentIds);
+            case CHECK_IN:
+                return changeAttended(event, enrollmentIds, true);
+            case CANCEL_CHECK_IN:
+                return changeAttended(event, enrollmentIds, false);
+            default:
+                throw new IllegalArgumentException(operation + " 은 지원하지 않는 작업입니다.");
+        }
+    }
+
+    // 남은 자리보다 많이 고르면 먼저 신청한 순서대로 남은 자리만큼만 수락한다.
+    private int acceptEnrollments(Event event, Set<Long> enrollmentIds) {
+        if (event.getEventType() != EventType.CONFIRMATIVE) {
+            return 0;
+        }
+
+        int remainSpots = eventRepository.lockRemainSpots(event.getId());
+        if (remainSpots <= 0) {
+            return 0;
+        }
+        return changeAccepted(event, enrollmentRepository.findIdsByAccepted(event, enrollmentIds, false, PageRequest.of(0, remainSpots)), true);
+    }
+
+    private int rejectEnrollments(Event event, Set<Long> enrollmentIds) {
+        if (event.getEventType() != EventType.CONFIRMATIVE) {
+            return 0;
+        }
+
+        // 인원 수를 옮기는 동안 다른 신청, 취소와 겹치지 않게 모임 행을 잠근다.
+        eventRepository.lockRemainSpots(event.getId());
+        return changeAccepted(event, enrollmentRepository.findIdsByAccepted(event, enrollmentIds, true, Pageable.unpaged()), false);
+    }
+
+    // 영속성 컨텍스트는 비우지 않는다. event 와 호출한 쪽이 들고 있는 엔티티는 그대로 쓸 수 있고,
+    // 이미 읽어 둔 참가 신청만 다시 읽어서 바뀐 상태를 맞춘다.
+    private int changeAccepted(Event event, List<EnrollmentAccountId> enrollments, boolean accepted) {
+        if (enrollments.isEmpty()) {
+            return 0;
+        }
+
+        List<Long> enrollmentIds = enrollments.stream().map(EnrollmentAccountId::getId).collect(Collectors.toList());
+        Set<Long> accountIds = enrollments.stream().map(EnrollmentAccountId::getAccountId).collect(Collectors.toSet());
+        int count = accepted ? enrollmentIds.size() : -enrollmentIds.size();
+        eventRepository.moveWaitingEnrollments(event.getId(), count);
+        enrollmentRepository.updateAccepted(enrollmentIds, accepted);
+        enrollmentRepository.refreshIfLoaded(enrollmentIds);
+        event.changeNumberOfEnrollments(count, -count);
+        eventPublisher.publishEvent(accepted
+                ? EnrollmentBatchEvent.accepted(enrollmentIds, accountIds)
+                : EnrollmentBatchEvent.rejected(enrollmentIds, accountIds));
+        return enrollmentIds.size();
+    }
+
+    private int changeAttended(Event event, Set<Long> enrollmentIds, boolean attended) {
+        int changed = enrollmentRepository.updateAttended(event, enrollmentIds, attended);
+        enrollmentRepository.refreshIfLoaded(enrollmentIds);
+        return changed;
+    }
+
+    // 남은 자리만큼 대기자를 신청한 순서대로 확정한다. 대기자 목록도, 확정한 참가 신청도 엔티티로 읽지 않는다.
+    private void acceptWaitingEnrollments(Event event) {
+        int remainSpots = eventRepository.lockRemainSpots(event.getId());
+        if (remainSpots <= 0) {
+            return;
+        }
+
+        List<Object[]> accepted = enrollmentRepository.acceptWaitingEnrollments(event.getId(), remainSpots);
+        if (accepted.isEmpty()) {
+            return;
+        }
+
+        eventRepository.moveWaitingEnrollments(event.getId(), accepted.size());
+        event.changeNumberOfEnrollments(accepted.size(), -accepted.size());
+        enrollmentRepository.refreshIfLoaded(accepted.stream()
+                .map(row -> ((Number) row[0]).longValue())
+                .collect(Collectors.toList()));
+        // 홈 화면 캐시를 비울 때는 계정 id 만 쓰므로 계정을 조회하지 않고 참조만 넘긴다.
+        accepted.forEach(row -> eventPublisher.publishEvent(
+                new EnrollmentChangedEvent(event, accountRepository.getById(((Number) row[1]).longValue()))));
+    }
+
+    private boolean reserveSpot(Event event, int waitingDelta) {
+        if (eventRepository.reserveSpot(event.getId(), waitingDelta) == 0) {
+            return false;
+        }
+        event.changeNumberOfEnrollments(1, waitingDelta);
+        return true;
+    }
+
+    private void releaseSpot(Event event, int waitingDelta) {
+        if (eventRepository.releaseSpot(event.getId(), waitingDelta) > 0) {
+            event.changeNumberOfEnrollments(-1, waitingDelta);
+        }
+    }
+
+    private void changeNumberOfWaitingEnrollments(Event event, int delta) {
+        eventRepository.changeNumberOfWaitingEnrollments(event.getId(), delta);
+        event.changeNumberOfEnrollments(0, delta);
+    }
 }
@@ -0,0 +1,25 @@
+package com.studyolle.modules.event;
+
+import java.time.LocalDateTime;
+
+// 모임 목록 화면에 필요한 컬럼만 읽는 projection. 인원 수는 Event 에 저장된 값을 그대로 쓴다.
+public interface EventSummary {
+
+    Long getId();
+
+    String getTitle();
+
+    LocalDateTime getStartDateTime();
+
+    LocalDateTime getEndEnrollmentDateTime();
+
+    LocalDateTime getEndDateTime();
+
+    Integer getLimitOfEnrollments();
+
+    int getNumberOfAcceptedEnrollments();
+
+    default int numberOfRemainSpots() {
+        return getLimitOfEnrollments() - getNumberOfAcceptedEnrollments();
+    }
+}
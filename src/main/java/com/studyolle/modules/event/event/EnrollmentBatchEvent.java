@@ -0,0 +1,25 @@
+package com.studyolle.modules.event.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+import java.util.Set;
+
+// 관리자가 여러 참가 신청을 한 번에 수락, 거절했을 때 한 번만 발생한다.
+@Getter
+@RequiredArgsConstructor
+public class EnrollmentBatchEvent {
+
+    private final List<Long> enrollmentIds;
+    private final Set<Long> accountIds;
+    private final String message;
+
+    public static EnrollmentBatchEvent accepted(List<Long> enrollmentIds, Set<Long> accountIds) {
+        return new EnrollmentBatchEvent(enrollmentIds, accountIds, EnrollmentAcceptedEvent.MESSAGE);
+    }
+
+    public static EnrollmentBatchEvent rejected(List<Long> enrollmentIds, Set<Long> accountIds) {
+        return new EnrollmentBatchEvent(enrollmentIds, accountIds, EnrollmentRejectedEvent.MESSAGE);
+    }
+}
@@ -0,0 +1,15 @@
+package com.studyolle.modules.event.event;
+
+import com.studyolle.modules.account.Account;
+import com.studyolle.modules.event.Event;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+// 모임 참가 신청, 취소, 대기자 승격처럼 알림 없이 참가 상태만 바뀌었을 때 발생한다.
+@Getter
+@RequiredArgsConstructor
+public class EnrollmentChangedEvent {
+
+    private final Event event;
+    private final Account account;
+}
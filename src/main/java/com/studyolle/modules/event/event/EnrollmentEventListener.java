@@ -5,15 +5,18 @@ import com.studyolle.infra.mail.EmailMessage;
 import com.studyolle.infra.mail.EmailService;
 import com.studyolle.modules.account.Account;
 import com.studyolle.modules.event.Enrollment;
+import com.studyolle.modules.event.EnrollmentRepository;
 import com.studyolle.modules.event.Event;
 import com.studyolle.modules.notification.Notification;
+import com.studyolle.modules.notification.NotificationCountCache;
 import com.studyolle.modules.notification.NotificationRepository;
+import com.studyolle.modules.notification.NotificationStreamRegistry;
 import com.studyolle.modules.notification.NotificationType;
+import com.studyolle.modules.outbox.OutboxService;
 import com.studyolle.modules.study.Study;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.event.EventListener;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 import org.thymeleaf.TemplateEngine;
@@ -22,39 +25,62 @@ import org.thymeleaf.context.Context;
 import java.time.LocalDateTime;
 
 @Slf4j
-@Async
 @Component
 @Transactional
 @RequiredArgsConstructor
 public class EnrollmentEventListener {
 
     private final NotificationRepository notificationRepository;
+    private final NotificationCountCache notificationCountCache;
+    private final NotificationStreamRegistry notificationStreamRegistry;
     private final AppProperties appProperties;
     private final TemplateEngine templateEngine;
     private final EmailService emailService;
+    private final EnrollmentRepository enrollmentRepository;
+    private final OutboxService outboxService;
 
+    // 이벤트를 발행한 트랜잭션 안에서 outbox 에 요청만 남기고, 알림과 메일은 OutboxDispatcher 가 처리한다.
     @EventListener
     public void handleEnrollmentEvent(EnrollmentEvent enrollmentEvent) {
-        Enrollment enrollment = enrollmentEvent.getEnrollment();
+        outboxService.append(new EnrollmentResultPayload(enrollmentEvent.getEnrollment().getId(), enrollmentEvent.getMessage()));
+    }
+
+    // 한 번에 처리한 참가 신청들의 결과는 outbox 요청 하나로 남긴다.
+    @EventListener
+    public void handleEnrollmentBatchEvent(EnrollmentBatchEvent enrollmentBatchEvent) {
+        outboxService.append(new EnrollmentResultsPayload(enrollmentBatchEvent.getEnrollmentIds(), enrollmentBatchEvent.getMessage()));
+    }
+
+    public void notifyEnrollmentResult(EnrollmentResultPayload payload) {
+        enrollmentRepository.findById(payload.getEnrollmentId())
+                .ifPresent(enrollment -> notifyEnrollmentResult(payload.getMessage(), enrollment));
+    }
+
+    public void notifyEnrollmentResults(EnrollmentResultsPayload payload) {
+        enrollmentRepository.findWithAccountAndEventByIdIn(payload.getEnrollmentIds())
+                .forEach(enrollment -> notifyEnrollmentResult(payload.getMessage(), enrollment));
+    }
+
+    private void notifyEnrollmentResult(String resultMessage, Enrollment enrollment) {
         Account account = enrollment.getAccount();
         Event event = enrollment.getEvent();
         Study study = event.getStudy();
 
         if (account.isStudyEnrollmentResultByEmail()) {
-            sendEmail(enrollmentEvent, account, event, study);
+            sendEmail(resultMessage, account, event, study);
         }
 
         if (account.isStudyEnrollmentResultByWeb()) {
-            createNotification(enrollmentEvent, account, event, study);
+            createNotification(resultMessage, account, event, study);
         }
     }
 
-    private void sendEmail(EnrollmentEvent enrollmentEvent, Account account, Event event, Study study) {
+    private void sendEmail(String resultMessage, Account account, Event event, Study study) {
         Context context = new Context();
         context.setVariable("nickname", account.getNickname());
         context.setVariable("link", "/study/" + study.getEncodedPath() + "/events/" + event.getId());
         context.setVariable("linkName", study.getTitle());
-        context.setVariable("message", enrollmentEvent.getMessage());
+        context.setVariable("message", resultMessage);
         context.setVariable("host", appProperties.getHost());
         String message = templateEngine.process("mail/simple-link", context);
 
@@ -67,16 +93,18 @@ public class EnrollmentEventListener {
         emailService.sendEmail(emailMessage);
     }
 
-    private void createNotification(EnrollmentEvent enrollmentEvent, Account account, Event event, Study study) {
+    private void createNotification(String resultMessage, Account account, Event event, Study study) {
         Notification notification = new Notification();
         notification.setTitle(study.getTitle() + " / " + event.getTitle());
         notification.setLink("/study/" + study.getEncodedPath() + "/events/" + event.getId());
         notification.setChecked(false);
         notification.setCreatedLocalDateTime(LocalDateTime.now());
-        notification.setMessage(enrollmentEvent.getMessage());
+        notification.setMessage(resultMessage);
         notification.setAccount(account);
         notification.setNotificationType(NotificationType.EVENT_ENROLLMENT);
         notificationRepository.save(notification);
+        notificationCountCache.evict(account.getId());
+        notificationStreamRegistry.publish(notification);
     }
 
 }
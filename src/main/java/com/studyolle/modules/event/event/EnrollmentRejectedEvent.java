@@ -3,7 +3,10 @@ package com.studyolle.modules.event.event;
 import com.studyolle.modules.event.Enrollment;
 
 public class EnrollmentRejectedEvent extends EnrollmentEvent{
+
+    static final String MESSAGE = "모임 참가 신청을 거절했습니다.";
+
     public EnrollmentRejectedEvent(Enrollment enrollment) {
-        super(enrollment,"모임 참가 신청을 거절했습니다.");
+        super(enrollment, MESSAGE);
     }
 }
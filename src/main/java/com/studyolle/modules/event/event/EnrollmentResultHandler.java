@@ -0,0 +1,27 @@
+package com.studyolle.modules.event.event;
+
+import com.studyolle.modules.outbox.OutboxHandler;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class EnrollmentResultHandler implements OutboxHandler<EnrollmentResultPayload> {
+
+    private final EnrollmentEventListener enrollmentEventListener;
+
+    @Override
+    public Class<EnrollmentResultPayload> getPayloadType() {
+        return EnrollmentResultPayload.class;
+    }
+
+    @Override
+    public String getExecutorName() {
+        return "enrollmentExecutor";
+    }
+
+    @Override
+    public void handle(EnrollmentResultPayload payload) {
+        enrollmentEventListener.notifyEnrollmentResult(payload);
+    }
+}
@@ -0,0 +1,14 @@
+package com.studyolle.modules.event.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class EnrollmentResultPayload {
+
+    private Long enrollmentId;
+    private String message;
+}
@@ -0,0 +1,27 @@
+package com.studyolle.modules.event.event;
+
+import com.studyolle.modules.outbox.OutboxHandler;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class EnrollmentResultsHandler implements OutboxHandler<EnrollmentResultsPayload> {
+
+    private final EnrollmentEventListener enrollmentEventListener;
+
+    @Override
+    public Class<EnrollmentResultsPayload> getPayloadType() {
+        return EnrollmentResultsPayload.class;
+    }
+
+    @Override
+    public String getExecutorName() {
+        return "enrollmentExecutor";
+    }
+
+    @Override
+    public void handle(EnrollmentResultsPayload payload) {
+        enrollmentEventListener.notifyEnrollmentResults(payload);
+    }
+}
@@ -0,0 +1,16 @@
+package com.studyolle.modules.event.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class EnrollmentResultsPayload {
+
+    private List<Long> enrollmentIds;
+    private String message;
+}
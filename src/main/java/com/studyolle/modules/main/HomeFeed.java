@@ -0,0 +1,32 @@
+package com.studyolle.modules.main;
+
+import com.studyolle.modules.account.Account;
+import com.studyolle.modules.event.Enrollment;
+import com.studyolle.modules.study.Study;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+// 로그인한 사용자의 홈 화면에 필요한 데이터를 한번에 들고 있는다.
+// 화면에서 쓰는 연관관계는 모두 로딩된 상태로 캐시되기 때문에 캐시를 꺼내 쓸 때는 DB 를 조회하지 않는다.
+@Getter
+@RequiredArgsConstructor
+public class HomeFeed {
+
+    private final Account account;
+    private final Set<Enrollment> enrollmentList;
+    private final List<Study> studyList;
+    private final List<Study> studyManagerOf;
+    private final List<Study> studyMemberOf;
+    private final LocalDateTime loadedAt;
+    // 제한 시간 안에 끝나지 않은 쿼리가 있으면 false, 이런 데이터는 캐시하지 않는다.
+    private final boolean complete;
+
+    public boolean isExpired(LocalDateTime now, Duration ttl) {
+        return !loadedAt.plus(ttl).isAfter(now);
+    }
+}
@@ -0,0 +1,56 @@
+package com.studyolle.modules.main;
+
+import com.studyolle.modules.account.AccountUpdatedEvent;
+import com.studyolle.modules.event.event.EnrollmentBatchEvent;
+import com.studyolle.modules.event.event.EnrollmentChangedEvent;
+import com.studyolle.modules.event.event.EnrollmentEvent;
+import com.studyolle.modules.study.StudyUpdateEvent;
+import com.studyolle.modules.study.event.StudyCreatedEvent;
+import com.studyolle.modules.study.event.StudyMemberChangedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+// 변경이 커밋된 뒤에 캐시를 비워야 다른 요청이 커밋 전 데이터를 다시 캐시하지 않는다.
+@Component
+@RequiredArgsConstructor
+public class HomeFeedEventListener {
+
+    private final HomeFeedService homeFeedService;
+
+    // 스터디 공개, 종료, 모임 변경은 어떤 계정의 홈 화면에 보이는지 알기 어려우니 전체를 비운다.
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handleStudyCreatedEvent(StudyCreatedEvent studyCreatedEvent) {
+        homeFeedService.evictAll();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handleStudyUpdateEvent(StudyUpdateEvent studyUpdateEvent) {
+        homeFeedService.evictAll();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handleStudyMemberChangedEvent(StudyMemberChangedEvent studyMemberChangedEvent) {
+        homeFeedService.evict(studyMemberChangedEvent.getAccount().getId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handleEnrollmentEvent(EnrollmentEvent enrollmentEvent) {
+        homeFeedService.evict(enrollmentEvent.getEnrollment().getAccount().getId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handleEnrollmentChangedEvent(EnrollmentChangedEvent enrollmentChangedEvent) {
+        homeFeedService.evict(enrollmentChangedEvent.getAccount().getId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handleEnrollmentBatchEvent(EnrollmentBatchEvent enrollmentBatchEvent) {
+        enrollmentBatchEvent.getAccountIds().forEach(homeFeedService::evict);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handleAccountUpdatedEvent(AccountUpdatedEvent accountUpdatedEvent) {
+        homeFeedService.evict(accountUpdatedEvent.getAccount().getId());
+    }
+}
@@ -0,0 +1,143 @@
+package com.studyolle.modules.main;
+
+import com.studyolle.infra.config.AppProperties;
+import com.studyolle.modules.account.Account;
+import com.studyolle.modules.account.AccountRepository;
+import com.studyolle.modules.event.Enrollment;
+import com.studyolle.modules.event.EnrollmentRepository;
+import com.studyolle.modules.study.Study;
+import com.studyolle.modules.study.StudyRecommendationIndex;
+import com.studyolle.modules.study.StudyRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+// 계정별 홈 화면 데이터를 TTL 동안 캐시한다. 스터디 공개/종료, 멤버 변경, 모임 참가 변경 이벤트가 오면
+// HomeFeedEventListener 가 해당 계정(또는 전체)의 캐시를 비운다.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class HomeFeedService {
+
+    private static final int SWEEP_THRESHOLD = 10_000;
+
+    private final AccountRepository accountRepository;
+    private final EnrollmentRepository enrollmentRepository;
+    private final StudyRepository studyRepository;
+    private final StudyRecommendationIndex studyRecommendationIndex;
+    private final AppProperties appProperties;
+    private final PlatformTransactionManager transactionManager;
+    private final Executor homeFeedExecutor;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<Long, HomeFeed> feeds = new ConcurrentHashMap<>();
+    private final AtomicLong evictionVersion = new AtomicLong();
+
+    public HomeFeed getHomeFeed(Account account) {
+        LocalDateTime now = LocalDateTime.now();
+        HomeFeed cached = feeds.get(account.getId());
+        if (cached != null && !cached.isExpired(now, appProperties.getHomeFeedTtl())) {
+            return cached;
+        }
+
+        // 읽는 도중에 캐시가 비워졌다면 이미 지난 데이터일 수 있으니 캐시에 넣지 않는다.
+        long version = evictionVersion.get();
+        HomeFeed homeFeed = appProperties.isHomeFeedParallel() ? loadHomeFeedInParallel(account, now) : loadHomeFeed(account, now);
+        if (homeFeed.isComplete() && version == evictionVersion.get()) {
+            if (feeds.size() >= SWEEP_THRESHOLD) {
+                feeds.values().removeIf(feed -> feed.isExpired(now, appProperties.getHomeFeedTtl()));
+            }
+            feeds.put(account.getId(), homeFeed);
+        }
+        return homeFeed;
+    }
+
+    public void evict(Long accountId) {
+        evictionVersion.incrementAndGet();
+        feeds.remove(accountId);
+    }
+
+    public void evictAll() {
+        evictionVersion.incrementAndGet();
+        feeds.clear();
+    }
+
+    private HomeFeed loadHomeFeed(Account account, LocalDateTime now) {
+        Account findAccount = query("account", () -> accountRepository.findAccountWithTagsAndZonesById(account.getId()));
+        return new HomeFeed(findAccount,
+                query("enrollments", () -> enrollmentRepository.findAllByAccountAndAcceptedOrderByEnrolledAtDesc(account, true)),
+                query("studyList", () -> studyRepository.findWithTagsAndZonesByIdIn(studyRecommendationIndex.recommend(findAccount))),
+                query("studyManagerOf", () -> studyRepository.findFirst5ByManagersContainingAndClosedOrderByPublishedDateTimeDesc(account, false)),
+                query("studyMemberOf", () -> studyRepository.findFirst5ByMembersContainingAndClosedOrderByPublishedDateTimeDesc(account, false)),
+                now, true);
+    }
+
+    // 관심 주제 스터디 목록만 계정의 태그/지역이 필요하고 나머지는 서로 독립적이라 동시에 실행한다.
+    private HomeFeed loadHomeFeedInParallel(Account account, LocalDateTime now) {
+        CompletableFuture<Account> findAccount = queryAsync("account", () -> accountRepository.findAccountWithTagsAndZonesById(account.getId()));
+        CompletableFuture<Set<Enrollment>> enrollments = queryAsync("enrollments", () -> enrollmentRepository.findAllByAccountAndAcceptedOrderByEnrolledAtDesc(account, true));
+        CompletableFuture<List<Study>> studyManagerOf = queryAsync("studyManagerOf", () -> studyRepository.findFirst5ByManagersContainingAndClosedOrderByPublishedDateTimeDesc(account, false));
+        CompletableFuture<List<Study>> studyMemberOf = queryAsync("studyMemberOf", () -> studyRepository.findFirst5ByMembersContainingAndClosedOrderByPublishedDateTimeDesc(account, false));
+        CompletableFuture<List<Study>> studyList = findAccount.thenCompose(a -> queryAsync("studyList", () -> studyRepository.findWithTagsAndZonesByIdIn(studyRecommendationIndex.recommend(a))));
+
+        long deadline = System.nanoTime() + appProperties.getHomeFeedQueryTimeout().toNanos();
+        AtomicBoolean complete = new AtomicBoolean(true);
+
+        Account loadedAccount = join("account", findAccount, deadline, complete);
+        if (loadedAccount == null) {
+            throw new IllegalStateException("홈 화면 정보를 불러오지 못했습니다.");
+        }
+
+        return new HomeFeed(loadedAccount,
+                Optional.ofNullable(join("enrollments", enrollments, deadline, complete)).orElseGet(Collections::emptySet),
+                Optional.ofNullable(join("studyList", studyList, deadline, complete)).orElseGet(Collections::emptyList),
+                Optional.ofNullable(join("studyManagerOf", studyManagerOf, deadline, complete)).orElseGet(Collections::emptyList),
+                Optional.ofNullable(join("studyMemberOf", studyMemberOf, deadline, complete)).orElseGet(Collections::emptyList),
+                now, complete.get());
+    }
+
+    private <T> CompletableFuture<T> queryAsync(String name, Supplier<T> supplier) {
+        return CompletableFuture.supplyAsync(() -> query(name, supplier), homeFeedExecutor);
+    }
+
+    // 쿼리마다 읽기 전용 트랜잭션을 따로 열고 실행 시간을 기록한다.
+    private <T> T query(String name, Supplier<T> supplier) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        transactionTemplate.setTimeout((int) Math.max(1, appProperties.getHomeFeedQueryTimeout().toSeconds()));
+
+        return Timer.builder("home.feed.query")
+                .tag("query", name)
+                .register(meterRegistry)
+                .record(() -> transactionTemplate.execute(status -> supplier.get()));
+    }
+
+    // 제한 시간을 넘기면 null 을 돌려주고, 쿼리 자체가 실패하면 예외를 그대로 던진다.
+    private <T> T join(String name, CompletableFuture<T> future, long deadline, AtomicBoolean complete) {
+        try {
+            return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            log.warn("home feed query '{}' timed out", name);
+            meterRegistry.counter("home.feed.query.timeout", "query", name).increment();
+            future.cancel(true);
+            complete.set(false);
+            return null;
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
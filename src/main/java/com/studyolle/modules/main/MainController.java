@@ -1,44 +1,37 @@
 package com.studyolle.modules.main;
 
 import com.studyolle.modules.account.Account;
-import com.studyolle.modules.account.AccountRepository;
 import com.studyolle.modules.account.CurrentUser;
-import com.studyolle.modules.event.EnrollmentRepository;
-import com.studyolle.modules.event.event.EnrollmentRejectedEvent;
-import com.studyolle.modules.study.Study;
+import com.studyolle.modules.study.StudyCursorPage;
 import com.studyolle.modules.study.StudyRepository;
+import com.studyolle.modules.study.StudySearchCursor;
+import com.studyolle.modules.study.StudyService;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
-import org.springframework.data.web.PageableDefault;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
-
-import java.util.List;
+import org.springframework.web.bind.annotation.RequestParam;
 
 @RequiredArgsConstructor
 @Controller
 public class MainController {
 
+    private static final int SEARCH_PAGE_SIZE = 9;
+
     private final StudyRepository studyRepository;
-    private final AccountRepository accountRepository;
-    private final EnrollmentRepository enrollmentRepository;
+    private final StudyService studyService;
+    private final HomeFeedService homeFeedService;
 
     @GetMapping("/")
     public String home(@CurrentUser Account account, Model model) {
         if (account != null) {
 
-            Account findAccount = accountRepository.findAccountWithTagsAndZonesById(account.getId());
-            model.addAttribute(findAccount);
-
-            model.addAttribute("enrollmentList", enrollmentRepository.findAllByAccountAndAcceptedOrderByEnrolledAtDesc(findAccount, true));
-            model.addAttribute("studyList", studyRepository.findByAccount(findAccount.getTags(), findAccount.getZones()));
-            model.addAttribute("studyManagerOf",
-                    studyRepository.findFirst5ByManagersContainingAndClosedOrderByPublishedDateTimeDesc(account, false));
-            model.addAttribute("studyMemberOf",
-                    studyRepository.findFirst5ByMembersContainingAndClosedOrderByPublishedDateTimeDesc(account, false));
+            HomeFeed homeFeed = homeFeedService.getHomeFeed(account);
+            model.addAttribute(homeFeed.getAccount());
+            model.addAttribute("enrollmentList", homeFeed.getEnrollmentList());
+            model.addAttribute("studyList", homeFeed.getStudyList());
+            model.addAttribute("studyManagerOf", homeFeed.getStudyManagerOf());
+            model.addAttribute("studyMemberOf", homeFeed.getStudyMemberOf());
 
             return "index-after-login";
         }
@@ -52,11 +45,11 @@ public class MainController {
         return "login";
     }
 
-    @GetMapping("/search/study")  // size, page, sort
-    public String searchStudy(@CurrentUser Account account,
-            @PageableDefault(size = 9, page = 0, sort = "publishedDateTime", direction = Sort.Direction.DESC) Pageable pageable,
-                              String keyword, Model model) {
-        Page<Study> studyPage = studyRepository.findByKeyword(keyword, pageable);
+    @GetMapping("/search/study")
+    public String searchStudy(@CurrentUser Account account, String keyword,
+                              @RequestParam(defaultValue = StudySearchCursor.PUBLISHED_DATE_TIME) String sort,
+                              String cursor, Model model) {
+        StudyCursorPage studyPage = studyService.searchStudies(keyword, StudySearchCursor.decode(cursor, sort), SEARCH_PAGE_SIZE);
 
         if (account != null) {
             model.addAttribute(account);
@@ -64,7 +57,8 @@ public class MainController {
 
         model.addAttribute("studyPage", studyPage);
         model.addAttribute("keyword", keyword);
-        model.addAttribute("sortProperty", pageable.getSort().toString().contains("publishedDateTime") ? "publishedDateTime" : "memberCount");
+        model.addAttribute("sortProperty", studyPage.getSortProperty());
+        model.addAttribute("relevanceSupported", studyService.supportsRelevanceSearch());
 
         return "search";
     }
@@ -8,13 +8,18 @@ import lombok.Setter;
 import javax.persistence.*;
 import java.time.LocalDateTime;
 
+// 알림 목록과 읽지 않은 알림 개수는 항상 계정, 읽음 여부로 거르고 생성 시각으로 정렬한다.
 @Entity
+@Table(indexes = @Index(name = NotificationPartitionManager.INDEX, columnList = "account_id, checked, createdLocalDateTime"))
 @Getter
 @Setter
 @EqualsAndHashCode(of = "id")
 public class Notification {
 
-    @Id @GeneratedValue
+    // 알림은 한번에 수만 건씩 만들어질 수 있어서 전용 시퀀스에서 50개씩 id 를 미리 받아 JDBC 배치로 insert 한다.
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "notification_seq")
+    @SequenceGenerator(name = "notification_seq", sequenceName = "notification_seq", allocationSize = 50)
     private Long id;
 
     private String title;
@@ -25,6 +30,8 @@ public class Notification {
     @ManyToOne
     private Account account;
 
+    // 월별 파티션 키 (NotificationPartitionManager)
+    @Column(nullable = false)
     private LocalDateTime createdLocalDateTime;
 
     @Enumerated(EnumType.STRING)
@@ -3,74 +3,78 @@ package com.studyolle.modules.notification;
 import com.studyolle.modules.account.Account;
 import com.studyolle.modules.account.CurrentUser;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import org.springframework.web.servlet.view.RedirectView;
 
-import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @Controller
 @RequestMapping("/notifications")
 @RequiredArgsConstructor
 public class NotificationController {
 
+    private static final int NOTIFICATION_PAGE_SIZE = 20;
+
     private final NotificationRepository notificationRepository;
     private final NotificationService notificationService;
+    private final NotificationStreamRegistry notificationStreamRegistry;
 
     @GetMapping
-    public String getNotifications(@CurrentUser Account account, Model model) {
-        List<Notification> notifications = notificationRepository.findByAccountAndCheckedOrderByCreatedLocalDateTimeDesc(account, false);
-        long numberOfChecked = notificationRepository.countByAccountAndChecked(account, true);
-
-        putCategorizedNotifications(model, notifications, numberOfChecked, notifications.size());
+    public String getNotifications(@CurrentUser Account account, String cursor, Model model) {
+        NotificationCursorPage notificationPage = notificationService.getNotifications(account, false, NotificationCursor.decode(cursor), NOTIFICATION_PAGE_SIZE);
+        putCategorizedNotifications(model, notificationPage, notificationService.getNotificationCounts(account), false);
 
         model.addAttribute("isNew", true);
-        notificationService.markAsRead(notifications);
+        notificationService.markAsRead(account, notificationPage.getContent());
         return "notification/list";
     }
 
-
-
     @GetMapping("/old")
-    public String getOldNotifications(@CurrentUser Account account, Model model) {
-        List<Notification> notifications = notificationRepository.findByAccountAndCheckedOrderByCreatedLocalDateTimeDesc(account, true);
-        long numberOfChecked = notificationRepository.countByAccountAndChecked(account, false);
-
-        putCategorizedNotifications(model, notifications, notifications.size(), numberOfChecked);
+    public String getOldNotifications(@CurrentUser Account account, String cursor, Model model) {
+        NotificationCursorPage notificationPage = notificationService.getNotifications(account, true, NotificationCursor.decode(cursor), NOTIFICATION_PAGE_SIZE);
+        putCategorizedNotifications(model, notificationPage, notificationService.getNotificationCounts(account), true);
 
         model.addAttribute("isNew", false);
         return "notification/list";
     }
 
+    @ResponseBody
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamNotifications(@CurrentUser Account account) {
+        return notificationStreamRegistry.subscribe(account);
+    }
+
     @DeleteMapping
     public String deleteNotifications(@CurrentUser Account account) {
         notificationRepository.deleteByAccountAndChecked(account, true);
         return "redirect:/notifications";
     }
 
-    private void putCategorizedNotifications(Model model, List<Notification> notifications, long numberOfChecked, long numberOfNotChecked) {
-        List<Notification> newStudyNotifications = new ArrayList<>();
-        List<Notification> eventEnrollmentNotifications = new ArrayList<>();
-        List<Notification> watchingStudyNotifications = new ArrayList<>();
+    // 종류별 개수는 집계 쿼리 결과를 쓰고, 카드에는 이번 페이지의 알림만 종류별로 나눠서 보여준다.
+    private void putCategorizedNotifications(Model model, NotificationCursorPage notificationPage, NotificationCounts counts, boolean checked) {
+        List<Notification> notifications = notificationPage.getContent();
+        Map<NotificationType, List<Notification>> byType = notifications.stream()
+                .collect(Collectors.groupingBy(Notification::getNotificationType, () -> new EnumMap<>(NotificationType.class), Collectors.toList()));
 
-        for (var notification : notifications) {
-            switch (notification.getNotificationType()) {
-                case STUDY_CREATED: newStudyNotifications.add(notification); break;
-                case EVENT_ENROLLMENT: eventEnrollmentNotifications.add(notification); break;
-                case STUDY_UPDATED: watchingStudyNotifications.add(notification); break;
-            }
-        }
-
-        model.addAttribute("numberOfNotChecked", numberOfNotChecked);
-        model.addAttribute("numberOfChecked", numberOfChecked);
+        model.addAttribute("numberOfNotChecked", counts.getNumberOfNotChecked());
+        model.addAttribute("numberOfChecked", counts.getNumberOfChecked());
         model.addAttribute("notifications", notifications);
-        model.addAttribute("newStudyNotifications", newStudyNotifications);
-        model.addAttribute("eventEnrollmentNotifications", eventEnrollmentNotifications);
-        model.addAttribute("watchingStudyNotifications", watchingStudyNotifications);
-
+        model.addAttribute("notificationPage", notificationPage);
+        model.addAttribute("newStudyNotifications", byType.getOrDefault(NotificationType.STUDY_CREATED, List.of()));
+        model.addAttribute("eventEnrollmentNotifications", byType.getOrDefault(NotificationType.EVENT_ENROLLMENT, List.of()));
+        model.addAttribute("watchingStudyNotifications", byType.getOrDefault(NotificationType.STUDY_UPDATED, List.of()));
+        model.addAttribute("numberOfNewStudyNotifications", counts.count(checked, NotificationType.STUDY_CREATED));
+        model.addAttribute("numberOfEventEnrollmentNotifications", counts.count(checked, NotificationType.EVENT_ENROLLMENT));
+        model.addAttribute("numberOfWatchingStudyNotifications", counts.count(checked, NotificationType.STUDY_UPDATED));
     }
 }
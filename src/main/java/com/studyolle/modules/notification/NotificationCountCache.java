@@ -0,0 +1,117 @@
+package com.studyolle.modules.notification;
+
+import com.studyolle.infra.cluster.ClusterBroadcaster;
+import com.studyolle.infra.cluster.ClusterResetEvent;
+import com.studyolle.infra.config.AppProperties;
+import com.studyolle.modules.account.Account;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.studyolle.infra.transaction.TransactionCallbacks.afterCommit;
+
+// 계정별 읽지 않은 알림 개수. DB 에서 센 값을 app.notification-count-ttl 동안 쓰고, 알림 생성/읽음 처리가 커밋되면 비운다.
+// 비우는 건 ClusterBroadcaster 로 다른 노드에도 알린다.
+// 캐시된 값에 더하거나 빼지 않는 이유는 커밋 전에 센 값이 늦게 들어오거나 다른 노드에서 바뀐 개수와 섞이면 틀린 값이 계속 남기 때문이다.
+@Component
+@RequiredArgsConstructor
+public class NotificationCountCache {
+
+    private final NotificationRepository notificationRepository;
+    private final AppProperties appProperties;
+    private final ClusterBroadcaster clusterBroadcaster;
+
+    private final Map<Long, CachedCount> counts = new ConcurrentHashMap<>();
+    private final AtomicLong changeVersion = new AtomicLong();
+
+    public long getUnreadCount(Account account) {
+        return getUnreadCount(account.getId());
+    }
+
+    public long getUnreadCount(Long accountId) {
+        long now = System.nanoTime();
+        CachedCount cached = counts.get(accountId);
+        if (cached != null && !cached.isExpired(now, appProperties.getNotificationCountTtl())) {
+            return cached.getCount();
+        }
+
+        // 세는 도중에 개수가 바뀌었다면 커밋 전에 센 값일 수 있으니 캐시에 넣지 않는다.
+        long version = changeVersion.get();
+        long count = notificationRepository.countByAccountIdAndChecked(accountId, false);
+        if (version == changeVersion.get()) {
+            CachedCount loaded = new CachedCount(count, now);
+            counts.put(accountId, loaded);
+            // 확인한 뒤 넣기 전에 비워졌을 수도 있으니 한 번 더 본다.
+            if (version != changeVersion.get()) {
+                counts.remove(accountId, loaded);
+            }
+        }
+        return count;
+    }
+
+    public void evict(Long accountId) {
+        evict(List.of(accountId));
+    }
+
+    // 여러 계정의 알림을 한꺼번에 만들 때는 커밋 콜백도 하나만 건다.
+    public void evict(Collection<Long> accountIds) {
+        if (accountIds.isEmpty()) {
+            return;
+        }
+
+        List<Long> changedAccountIds = new ArrayList<>(accountIds);
+        clusterBroadcaster.broadcast(changedAccountIds, chunk -> new NotificationCountChangedMessage(chunk, false));
+        afterCommit(() -> evictLocally(changedAccountIds));
+    }
+
+    // 오래된 알림을 한꺼번에 지운 뒤에는 어느 계정의 개수가 바뀌었는지 모르니 전부 다시 센다.
+    public void evictAll() {
+        clusterBroadcaster.broadcast(new NotificationCountChangedMessage(List.of(), true));
+        afterCommit(this::evictAllLocally);
+    }
+
+    // 다른 노드에서 바뀐 개수
+    @EventListener
+    public void handleNotificationCountChanged(NotificationCountChangedMessage message) {
+        if (message.isAllAccounts()) {
+            evictAllLocally();
+        } else {
+            evictLocally(message.getAccountIds());
+        }
+    }
+
+    // 다른 노드의 메시지를 놓쳤을 수 있으니 전부 다시 센다.
+    @EventListener(ClusterResetEvent.class)
+    public void handleClusterReset() {
+        evictAllLocally();
+    }
+
+    private void evictLocally(Collection<Long> accountIds) {
+        changeVersion.incrementAndGet();
+        accountIds.forEach(counts::remove);
+    }
+
+    private void evictAllLocally() {
+        changeVersion.incrementAndGet();
+        counts.clear();
+    }
+
+    @Value
+    static class CachedCount {
+        long count;
+        long loadedAt;
+
+        boolean isExpired(long now, Duration ttl) {
+            return now - loadedAt > ttl.toNanos();
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.studyolle.modules.notification;
+
+import com.studyolle.infra.cluster.ClusterMessage;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// 읽지 않은 알림 개수가 바뀐 계정. allAccounts 면 어느 계정이 바뀌었는지 모르니 전부 비운다.
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationCountChangedMessage implements ClusterMessage {
+
+    private List<Long> accountIds;
+
+    private boolean allAccounts;
+}
@@ -0,0 +1,32 @@
+package com.studyolle.modules.notification;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+// 계정의 알림 개수를 읽음 여부, 알림 종류별로 한 번의 group by 쿼리로 센 결과
+public class NotificationCounts {
+
+    private final Map<NotificationType, Long> checked = new EnumMap<>(NotificationType.class);
+    private final Map<NotificationType, Long> notChecked = new EnumMap<>(NotificationType.class);
+
+    // 각 행은 (checked, notificationType, count)
+    public NotificationCounts(List<Object[]> rows) {
+        for (Object[] row : rows) {
+            Map<NotificationType, Long> counts = (Boolean) row[0] ? checked : notChecked;
+            counts.put((NotificationType) row[1], ((Number) row[2]).longValue());
+        }
+    }
+
+    public long getNumberOfChecked() {
+        return checked.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    public long getNumberOfNotChecked() {
+        return notChecked.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    public long count(boolean isChecked, NotificationType notificationType) {
+        return (isChecked ? checked : notChecked).getOrDefault(notificationType, 0L);
+    }
+}
@@ -0,0 +1,52 @@
+package com.studyolle.modules.notification;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+// 알림 목록 페이지의 위치를 마지막으로 보여준 알림의 (생성 시각, id) 로 나타낸다.
+// 목록은 생성 시각, id 내림차순이라 (account_id, checked, created_local_date_time) 인덱스를 그대로 따라 읽는다.
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class NotificationCursor {
+
+    private static final String DELIMITER = "|";
+
+    private final LocalDateTime createdLocalDateTime;
+    private final Long id;
+
+    public static NotificationCursor first() {
+        return new NotificationCursor(null, null);
+    }
+
+    public static NotificationCursor after(Notification notification) {
+        return new NotificationCursor(notification.getCreatedLocalDateTime(), notification.getId());
+    }
+
+    // 잘못된 커서는 첫 페이지로 취급한다.
+    public static NotificationCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return first();
+        }
+
+        try {
+            String[] values = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split("\\" + DELIMITER);
+            return new NotificationCursor(LocalDateTime.parse(values[0]), Long.valueOf(values[1]));
+        } catch (RuntimeException e) {
+            return first();
+        }
+    }
+
+    public String encode() {
+        String value = String.join(DELIMITER, String.valueOf(createdLocalDateTime), String.valueOf(id));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public boolean isFirst() {
+        return this.id == null;
+    }
+}
@@ -0,0 +1,21 @@
+package com.studyolle.modules.notification;
+
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+public class NotificationCursorPage {
+
+    private final List<Notification> content;
+    private final String nextCursor;
+
+    public NotificationCursorPage(List<Notification> content, boolean hasNext) {
+        this.content = content;
+        this.nextCursor = !content.isEmpty() && hasNext ? NotificationCursor.after(content.get(content.size() - 1)).encode() : null;
+    }
+
+    public boolean hasNext() {
+        return this.nextCursor != null;
+    }
+}
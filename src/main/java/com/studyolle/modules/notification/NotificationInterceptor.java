@@ -19,7 +19,7 @@ import java.util.Objects;
 @RequiredArgsConstructor
 public class NotificationInterceptor implements HandlerInterceptor {
 
-    private final NotificationRepository notificationRepository;
+    private final NotificationCountCache notificationCountCache;
 
     @Override
     public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler, ModelAndView modelAndView) throws Exception {
@@ -29,7 +29,7 @@ public class NotificationInterceptor implements HandlerInterceptor {
         if (modelAndView != null && !isRedirectView(modelAndView) && authentication != null && authentication.getPrincipal() instanceof UserAccount) {
             Account account = ((UserAccount) authentication.getPrincipal()).getAccount();
 
-            long count = notificationRepository.countByAccountAndChecked(account, false);
+            long count = notificationCountCache.getUnreadCount(account);
 
             modelAndView.addObject("hasNotification", count > 0);
             if(count > 0) {
@@ -0,0 +1,197 @@
+package com.studyolle.modules.notification;
+
+import com.studyolle.infra.config.AppProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// postgres 에서는 notification 테이블을 생성 월(created_local_date_time) 기준 range 파티션으로 바꿔서
+// 보관 기간이 지난 알림을 DELETE 대신 파티션 DROP 으로 지운다. 목록, 개수 조회는 계정 인덱스를 타므로 쌓인 기간과 상관없이 일정하다.
+// 하이버네이트는 파티션 테이블을 만들 수 없어서 시작할 때 기존 테이블을 첫 파티션으로 붙여 넣고, 준비하지 못하면 DELETE 로 지운다.
+// 여러 노드가 동시에 떠도 advisory lock 으로 한 노드만 DDL 을 실행하고, 나머지는 변환된 테이블을 보고 지나간다.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class NotificationPartitionManager {
+
+    static final String TABLE = "notification";
+    static final String INDEX = "notification_account_checked_created_idx";
+
+    // 파티션을 미리 만들어 두는 개월 수
+    static final int PREPARED_MONTHS = 3;
+
+    // 변환할 때 잡는 ACCESS EXCLUSIVE 잠금을 이보다 오래 기다리면 포기하고 DELETE 로 지운다.
+    static final String LOCK_TIMEOUT = "5s";
+
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+    private static final Pattern UPPER_BOUND = Pattern.compile("TO \\('([^']+)'\\)");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final NotificationRepository notificationRepository;
+    private final NotificationCountCache notificationCountCache;
+    private final AppProperties appProperties;
+
+    private volatile boolean partitioned;
+
+    @PostConstruct
+    public void initPartitions() {
+        try {
+            // DDL 도 트랜잭션으로 묶어서 중간에 실패하면 원래 테이블로 돌아가게 한다.
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                lockPartitions();
+                if (!isPartitioned()) {
+                    convertToPartitionedTable(YearMonth.now());
+                }
+                createPartitions(YearMonth.now());
+            });
+            partitioned = true;
+        } catch (DataAccessException e) {
+            log.warn("failed to prepare notification partitions, falling back to delete for retention", e);
+        }
+    }
+
+    @Scheduled(cron = "0 30 3 * * *")
+    public void maintainPartitions() {
+        YearMonth now = YearMonth.now();
+        LocalDateTime cutoff = retentionCutoff(now, appProperties.getNotificationRetentionMonths());
+
+        if (!partitioned) {
+            int deleted = notificationRepository.deleteCreatedBefore(cutoff);
+            if (deleted > 0) {
+                notificationCountCache.evictAll();
+            }
+            log.info("deleted {} notifications created before {}", deleted, cutoff);
+            return;
+        }
+
+        try {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                lockPartitions();
+                createPartitions(now);
+                dropPartitionsBefore(cutoff);
+            });
+        } catch (DataAccessException e) {
+            log.error("failed to maintain notification partitions", e);
+        }
+    }
+
+    public boolean isPartitioned() {
+        Integer count = jdbcTemplate.queryForObject("SELECT count(*) FROM pg_partitioned_table p " +
+                "JOIN pg_class c ON c.oid = p.partrelid WHERE c.relname = ? AND pg_table_is_visible(c.oid)", Integer.class, TABLE);
+        return count != null && count > 0;
+    }
+
+    // 트랜잭션이 끝날 때까지 다른 노드의 변환, 파티션 생성, 삭제를 막는다.
+    private void lockPartitions() {
+        jdbcTemplate.execute("SELECT pg_advisory_xact_lock(hashtext('" + TABLE + "'))");
+    }
+
+    // 기존 테이블은 이번 달 1일 전까지의 범위를 맡는 파티션이 되고, 이번 달 알림은 이번 달 파티션으로 옮긴다.
+    // 다음 달까지 맡기면 이번 달 알림 때문에 이전 알림도 보관 기간보다 한 달 더 남는다.
+    private void convertToPartitionedTable(YearMonth now) {
+        String legacy = TABLE + "_before_" + now.format(PARTITION_SUFFIX);
+        LocalDateTime thisMonth = now.atDay(1).atStartOfDay();
+        jdbcTemplate.execute("SET LOCAL lock_timeout = '" + LOCK_TIMEOUT + "'");
+        jdbcTemplate.execute("LOCK TABLE " + TABLE + " IN ACCESS EXCLUSIVE MODE");
+        String primaryKey = constraintName("p");
+        String foreignKey = constraintName("f");
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " RENAME TO " + legacy);
+        jdbcTemplate.execute("ALTER INDEX " + INDEX + " RENAME TO " + legacy + "_idx");
+        // 파티션 테이블의 기본 키에는 파티션 키가 들어가야 한다. id 는 시퀀스에서 받으니 그대로 유일하다.
+        jdbcTemplate.execute("ALTER TABLE " + legacy + " DROP CONSTRAINT " + primaryKey);
+        jdbcTemplate.execute("CREATE TABLE " + TABLE + " (LIKE " + legacy + " INCLUDING DEFAULTS) PARTITION BY RANGE (created_local_date_time)");
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " ADD PRIMARY KEY (id, created_local_date_time)");
+        // 인덱스, 외래 키 이름을 하이버네이트가 만든 것과 맞춰 둬야 ddl-auto=update 가 다시 만들려고 하지 않는다.
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " ADD CONSTRAINT " + foreignKey + " FOREIGN KEY (account_id) REFERENCES account (id)");
+        jdbcTemplate.execute("CREATE INDEX " + INDEX + " ON " + TABLE + " (account_id, checked, created_local_date_time)");
+        // 미리 만든 파티션 범위를 벗어난 알림도 저장은 되도록 받아 둔다.
+        jdbcTemplate.execute("CREATE TABLE " + TABLE + "_default PARTITION OF " + TABLE + " DEFAULT");
+        createPartitions(now);
+        int moved = jdbcTemplate.update("INSERT INTO " + TABLE + " SELECT * FROM " + legacy + " WHERE created_local_date_time >= ?", thisMonth);
+        jdbcTemplate.update("DELETE FROM " + legacy + " WHERE created_local_date_time >= ?", thisMonth);
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " ATTACH PARTITION " + legacy +
+                " FOR VALUES FROM (MINVALUE) TO ('" + now.atDay(1) + "')");
+        log.info("moved {} notifications created from {} out of {}", moved, thisMonth, legacy);
+        log.info("converted {} to a monthly partitioned table", TABLE);
+    }
+
+    private String constraintName(String type) {
+        return jdbcTemplate.queryForObject("SELECT conname FROM pg_constraint WHERE conrelid = '" + TABLE + "'::regclass AND contype = ?",
+                String.class, type);
+    }
+
+    private void createPartitions(YearMonth now) {
+        YearMonth from = partitions().stream()
+                .map(Partition::getUpperBound)
+                .filter(upperBound -> upperBound != null)
+                .map(YearMonth::from)
+                .max(YearMonth::compareTo)
+                .orElse(now);
+
+        for (YearMonth month = from; !month.isAfter(now.plusMonths(PREPARED_MONTHS)); month = month.plusMonths(1)) {
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + partitionName(month) + " PARTITION OF " + TABLE +
+                    " FOR VALUES FROM ('" + month.atDay(1) + "') TO ('" + month.plusMonths(1).atDay(1) + "')");
+        }
+    }
+
+    private void dropPartitionsBefore(LocalDateTime cutoff) {
+        int dropped = 0;
+        for (Partition partition : partitions()) {
+            if (partition.getUpperBound() != null && !partition.getUpperBound().isAfter(cutoff)) {
+                jdbcTemplate.execute("DROP TABLE " + partition.getName());
+                log.info("dropped notification partition {}", partition.getName());
+                dropped++;
+            }
+        }
+
+        if (dropped > 0) {
+            notificationCountCache.evictAll();
+        }
+    }
+
+    private List<Partition> partitions() {
+        return jdbcTemplate.query("SELECT c.relname, pg_get_expr(c.relpartbound, c.oid) FROM pg_inherits i " +
+                        "JOIN pg_class c ON c.oid = i.inhrelid JOIN pg_class p ON p.oid = i.inhparent " +
+                        "WHERE p.relname = ? AND pg_table_is_visible(p.oid)",
+                (rs, rowNum) -> new Partition(rs.getString(1), upperBoundOf(rs.getString(2))), TABLE);
+    }
+
+    static String partitionName(YearMonth month) {
+        return TABLE + "_" + month.format(PARTITION_SUFFIX);
+    }
+
+    // 이번 달을 빼고 보관 개월 수만큼 거슬러 올라간 달의 1일. 이보다 먼저 끝나는 파티션은 지운다.
+    static LocalDateTime retentionCutoff(YearMonth now, int retentionMonths) {
+        return now.minusMonths(retentionMonths).atDay(1).atStartOfDay();
+    }
+
+    // "FOR VALUES FROM (...) TO ('2021-08-01 00:00:00')" 의 상한. DEFAULT 파티션이나 MAXVALUE 는 null
+    static LocalDateTime upperBoundOf(String partitionBound) {
+        Matcher matcher = UPPER_BOUND.matcher(partitionBound == null ? "" : partitionBound);
+        if (!matcher.find()) {
+            return null;
+        }
+        return LocalDateTime.parse(matcher.group(1).replace(' ', 'T'));
+    }
+
+    @Value
+    static class Partition {
+        String name;
+        LocalDateTime upperBound;
+    }
+}
@@ -0,0 +1,23 @@
+package com.studyolle.modules.notification;
+
+import com.studyolle.infra.cluster.ClusterMessage;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// 같은 내용의 새 알림을 받은 계정들. 연결을 들고 있는 노드가 브라우저에 보낸다.
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationPushMessage implements ClusterMessage {
+
+    private List<Long> accountIds;
+
+    private String title;
+
+    private String message;
+
+    private String link;
+}
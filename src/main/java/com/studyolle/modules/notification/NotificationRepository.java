@@ -1,19 +1,53 @@
 package com.studyolle.modules.notification;
 
 import com.studyolle.modules.account.Account;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Transactional(readOnly = true)
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
     long countByAccountAndChecked(Account account, boolean checked);
 
+    long countByAccountIdAndChecked(Long accountId, boolean checked);
+
 
     @Transactional
     void deleteByAccountAndChecked(Account account, boolean checked);
 
+    @Query("select n from Notification n where n.account = :account and n.checked = :checked" +
+            " order by n.createdLocalDateTime desc, n.id desc")
+    List<Notification> findFirstPage(@Param("account") Account account, @Param("checked") boolean checked, Pageable pageable);
+
+    @Query("select n from Notification n where n.account = :account and n.checked = :checked" +
+            " and (n.createdLocalDateTime < :createdLocalDateTime or (n.createdLocalDateTime = :createdLocalDateTime and n.id < :id))" +
+            " order by n.createdLocalDateTime desc, n.id desc")
+    List<Notification> findPageAfter(@Param("account") Account account, @Param("checked") boolean checked,
+                                     @Param("createdLocalDateTime") LocalDateTime createdLocalDateTime, @Param("id") Long id, Pageable pageable);
+
+    // (checked, notificationType, count)
+    @Query("select n.checked, n.notificationType, count(n) from Notification n where n.account = :account" +
+            " group by n.checked, n.notificationType")
+    List<Object[]> countByCheckedAndType(@Param("account") Account account);
+
+    // 생성 시각 범위는 월 파티션을 좁히는 데 쓴다.
+    @Transactional
+    @Modifying
+    @Query("update Notification n set n.checked = true where n.account = :account and n.checked = false and n.id in :ids" +
+            " and n.createdLocalDateTime between :from and :to")
+    int markAsRead(@Param("account") Account account, @Param("ids") Collection<Long> ids,
+                   @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    // 파티션을 쓸 수 없을 때의 보관 기간 정리
     @Transactional
-    List<Notification> findByAccountAndCheckedOrderByCreatedLocalDateTimeDesc(Account account, boolean b);
+    @Modifying
+    @Query("delete from Notification n where n.createdLocalDateTime < :cutoff")
+    int deleteCreatedBefore(@Param("cutoff") LocalDateTime cutoff);
 }
@@ -1,10 +1,15 @@
 package com.studyolle.modules.notification;
 
+import com.studyolle.modules.account.Account;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Comparator;
 import java.util.List;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
@@ -12,9 +17,39 @@ import java.util.List;
 public class NotificationService {
 
     private final NotificationRepository notificationRepository;
+    private final NotificationCountCache notificationCountCache;
 
-    public void markAsRead(List<Notification> notifications) {
-        notifications.forEach(n -> n.setChecked(true));
-        notificationRepository.saveAll(notifications);
+    @Transactional(readOnly = true)
+    public NotificationCursorPage getNotifications(Account account, boolean checked, NotificationCursor cursor, int size) {
+        // 다음 페이지가 있는지 보려고 하나 더 읽는다.
+        PageRequest limit = PageRequest.of(0, size + 1);
+        List<Notification> notifications = cursor.isFirst()
+                ? notificationRepository.findFirstPage(account, checked, limit)
+                : notificationRepository.findPageAfter(account, checked, cursor.getCreatedLocalDateTime(), cursor.getId(), limit);
+
+        boolean hasNext = notifications.size() > size;
+        return new NotificationCursorPage(hasNext ? notifications.subList(0, size) : notifications, hasNext);
+    }
+
+    @Transactional(readOnly = true)
+    public NotificationCounts getNotificationCounts(Account account) {
+        return new NotificationCounts(notificationRepository.countByCheckedAndType(account));
+    }
+
+    // 화면에 보여준 알림만 UPDATE 한 번으로 읽음 처리한다. 그 사이에 도착한 알림은 다음에 볼 수 있게 남겨 둔다.
+    public void markAsRead(Account account, List<Notification> notifications) {
+        List<Notification> unread = notifications.stream().filter(n -> !n.isChecked()).collect(Collectors.toList());
+        if (unread.isEmpty()) {
+            return;
+        }
+
+        List<Long> ids = unread.stream().map(Notification::getId).collect(Collectors.toList());
+        LocalDateTime from = unread.stream().map(Notification::getCreatedLocalDateTime).min(Comparator.naturalOrder()).orElseThrow();
+        LocalDateTime to = unread.stream().map(Notification::getCreatedLocalDateTime).max(Comparator.naturalOrder()).orElseThrow();
+
+        int updated = notificationRepository.markAsRead(account, ids, from, to);
+        if (updated > 0) {
+            notificationCountCache.evict(account.getId());
+        }
     }
 }
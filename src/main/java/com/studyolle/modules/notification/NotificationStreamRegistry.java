@@ -0,0 +1,219 @@
+package com.studyolle.modules.notification;
+
+import com.studyolle.infra.cluster.ClusterBroadcaster;
+import com.studyolle.modules.account.Account;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static com.studyolle.infra.transaction.TransactionCallbacks.afterCommit;
+
+// /notifications/stream 으로 연결한 브라우저를 계정별로 들고 있다가 새 알림을 바로 보내준다.
+// 연결마다 보낼 이벤트를 담아두는 버퍼 크기가 정해져 있고, 버퍼가 넘치거나 일정 시간 동안 아무것도 보내지 못한 연결은 끊는다.
+// 끊긴 브라우저는 EventSource 가 알아서 다시 연결한다. 브라우저가 어느 노드에 연결했든 받을 수 있도록 새 알림은 ClusterBroadcaster 로 모든 노드에 알린다.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class NotificationStreamRegistry {
+
+    static final int BUFFER_SIZE = 32;
+    static final int MAX_SUBSCRIPTIONS_PER_ACCOUNT = 5;
+    static final Duration CONNECTION_TIMEOUT = Duration.ofMinutes(30);
+    static final Duration HEARTBEAT_INTERVAL = Duration.ofSeconds(15);
+    static final Duration IDLE_TIMEOUT = HEARTBEAT_INTERVAL.multipliedBy(4);
+
+    private final NotificationCountCache notificationCountCache;
+    private final ClusterBroadcaster clusterBroadcaster;
+
+    private final Map<Long, Deque<Subscription>> subscriptions = new ConcurrentHashMap<>();
+    private ScheduledExecutorService sender;
+
+    @PostConstruct
+    public void startHeartbeat() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        sender = Executors.newScheduledThreadPool(2, runnable -> {
+            Thread thread = new Thread(runnable, "NotificationStream-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        sender.scheduleAtFixedRate(this::sendHeartbeat, HEARTBEAT_INTERVAL.toSeconds(), HEARTBEAT_INTERVAL.toSeconds(), TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sender.shutdownNow();
+        subscriptions.values().forEach(accountSubscriptions -> new ArrayList<>(accountSubscriptions).forEach(Subscription::close));
+    }
+
+    public SseEmitter subscribe(Account account) {
+        Subscription subscription = new Subscription(account.getId(), new SseEmitter(CONNECTION_TIMEOUT.toMillis()));
+
+        Deque<Subscription> accountSubscriptions = subscriptions.computeIfAbsent(account.getId(), id -> new ConcurrentLinkedDeque<>());
+        accountSubscriptions.addLast(subscription);
+        // 탭을 너무 많이 열면 가장 오래된 연결부터 끊는다.
+        while (accountSubscriptions.size() > MAX_SUBSCRIPTIONS_PER_ACCOUNT) {
+            Optional.ofNullable(accountSubscriptions.pollFirst()).ifPresent(Subscription::close);
+        }
+
+        subscription.offer(SseEmitter.event().name("unread-count")
+                .data(Map.of("unreadCount", notificationCountCache.getUnreadCount(account.getId())), MediaType.APPLICATION_JSON));
+        return subscription.emitter;
+    }
+
+    public void publish(Notification notification) {
+        publish(List.of(notification));
+    }
+
+    // 연결이 어느 노드에 있는지 모르니 다른 노드에는 항상 알리고, 이 노드에서는 연결이 있는 계정에만 커밋된 뒤에 보낸다.
+    // 대량 발송 때 알림 엔티티를 커밋까지 붙잡아 두지 않도록 내용이 같은 알림끼리 묶어서 필요한 값만 복사한다.
+    public void publish(List<Notification> notifications) {
+        Map<List<String>, List<Long>> accountIdsByContent = new LinkedHashMap<>();
+        notifications.forEach(notification -> accountIdsByContent.computeIfAbsent(
+                Arrays.asList(notification.getTitle(), notification.getMessage(), notification.getLink()),
+                content -> new ArrayList<>()).add(notification.getAccount().getId()));
+
+        accountIdsByContent.forEach((content, accountIds) -> {
+            clusterBroadcaster.broadcast(accountIds, chunk -> new NotificationPushMessage(chunk, content.get(0), content.get(1), content.get(2)));
+
+            List<Long> subscribedAccountIds = accountIds.stream().filter(subscriptions::containsKey).collect(Collectors.toList());
+            if (!subscribedAccountIds.isEmpty()) {
+                NotificationPushMessage localPush = new NotificationPushMessage(subscribedAccountIds, content.get(0), content.get(1), content.get(2));
+                afterCommit(() -> push(localPush));
+            }
+        });
+    }
+
+    // 다른 노드에서 만든 알림
+    @EventListener
+    public void handleNotificationPush(NotificationPushMessage message) {
+        push(message);
+    }
+
+    // 읽지 않은 개수를 세는 조회가 커밋한 요청 스레드나 클러스터 메시지를 받는 스레드를 붙잡지 않도록 sender 에서 보낸다.
+    private void push(NotificationPushMessage message) {
+        message.getAccountIds().stream().filter(subscriptions::containsKey).forEach(accountId -> {
+            try {
+                sender.execute(() -> {
+                    Deque<Subscription> accountSubscriptions = subscriptions.get(accountId);
+                    if (accountSubscriptions == null || accountSubscriptions.isEmpty()) {
+                        return;
+                    }
+
+                    Map<String, Object> payload = new HashMap<>();
+                    payload.put("title", message.getTitle());
+                    payload.put("message", message.getMessage());
+                    payload.put("link", message.getLink());
+                    payload.put("unreadCount", notificationCountCache.getUnreadCount(accountId));
+                    accountSubscriptions.forEach(subscription ->
+                            subscription.offer(SseEmitter.event().name("notification").data(payload, MediaType.APPLICATION_JSON)));
+                });
+            } catch (RejectedExecutionException e) {
+                log.debug("notification stream is shutting down");
+            }
+        });
+    }
+
+    int getSubscriptionCount(Long accountId) {
+        return subscriptions.getOrDefault(accountId, new ConcurrentLinkedDeque<>()).size();
+    }
+
+    private void sendHeartbeat() {
+        long now = System.nanoTime();
+        subscriptions.values().forEach(accountSubscriptions -> accountSubscriptions.forEach(subscription -> {
+            if (now - subscription.lastSentAt > IDLE_TIMEOUT.toNanos()) {
+                log.debug("closing idle notification stream of account {}", subscription.accountId);
+                subscription.close();
+            } else {
+                subscription.offer(SseEmitter.event().comment("heartbeat"));
+            }
+        }));
+    }
+
+    private void unregister(Subscription subscription) {
+        subscriptions.computeIfPresent(subscription.accountId, (id, accountSubscriptions) -> {
+            accountSubscriptions.remove(subscription);
+            return accountSubscriptions.isEmpty() ? null : accountSubscriptions;
+        });
+    }
+
+    private class Subscription {
+
+        private final Long accountId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<SseEmitter.SseEventBuilder> buffer = new ArrayBlockingQueue<>(BUFFER_SIZE);
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private volatile long lastSentAt = System.nanoTime();
+
+        Subscription(Long accountId, SseEmitter emitter) {
+            this.accountId = accountId;
+            this.emitter = emitter;
+            emitter.onCompletion(() -> unregister(this));
+            emitter.onTimeout(this::close);
+            emitter.onError(e -> close());
+        }
+
+        void offer(SseEmitter.SseEventBuilder event) {
+            if (closed.get()) {
+                return;
+            }
+
+            // 버퍼가 넘칠 정도로 느린 연결은 끊고 다시 연결하게 한다.
+            if (!buffer.offer(event)) {
+                log.debug("notification stream buffer of account {} is full", accountId);
+                close();
+                return;
+            }
+            drainLater();
+        }
+
+        private void drainLater() {
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    sender.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    draining.set(false);
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                SseEmitter.SseEventBuilder event;
+                while (!closed.get() && (event = buffer.poll()) != null) {
+                    emitter.send(event);
+                    lastSentAt = System.nanoTime();
+                }
+            } catch (IOException | IllegalStateException e) {
+                close();
+            } finally {
+                draining.set(false);
+            }
+
+            if (!closed.get() && !buffer.isEmpty()) {
+                drainLater();
+            }
+        }
+
+        void close() {
+            if (closed.compareAndSet(false, true)) {
+                buffer.clear();
+                unregister(this);
+                emitter.complete();
+            }
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.studyolle.modules.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.studyolle.infra.queue.ClaimableWorkProcessor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
+
+// outbox 를 주기적으로 폴링해서 배치 단위로 점유하고, 점유한 요청은 핸들러가 지정한 Executor 에서 동시에 처리한다.
+// 핸들러의 변경과 outbox 행 삭제가 한 트랜잭션으로 커밋되기 때문에 처리 도중 노드가 죽어도 요청이 사라지지 않는다.
+@Slf4j
+@Component
+public class OutboxDispatcher extends ClaimableWorkProcessor<OutboxEvent> {
+
+    static final int BATCH_SIZE = 50;
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+    private final Map<String, OutboxHandler<?>> handlers = new HashMap<>();
+    private final Map<String, Executor> handlerExecutors = new HashMap<>();
+
+    public OutboxDispatcher(OutboxEventRepository outboxEventRepository, ObjectMapper objectMapper,
+                            PlatformTransactionManager transactionManager, Map<String, Executor> executors,
+                            List<OutboxHandler<?>> handlers) {
+        super(outboxEventRepository, transactionManager);
+        this.outboxEventRepository = outboxEventRepository;
+        this.objectMapper = objectMapper;
+        handlers.forEach(handler -> {
+            OutboxHandler<?> previous = this.handlers.put(handler.getEventType(), handler);
+            if (previous != null) {
+                throw new IllegalStateException("outbox 핸들러가 중복되었습니다. " + handler.getEventType());
+            }
+
+            Executor executor = executors.get(handler.getExecutorName());
+            if (executor == null) {
+                throw new IllegalStateException("outbox 핸들러가 사용할 Executor 가 없습니다. " + handler.getExecutorName());
+            }
+            this.handlerExecutors.put(handler.getEventType(), executor);
+        });
+    }
+
+    @Scheduled(fixedDelay = POLL_INTERVAL_MILLIS)
+    public void dispatch() {
+        List<OutboxEvent> claimed;
+        do {
+            claimed = claim(BATCH_SIZE);
+            CompletableFuture.allOf(groupByCoalesceKey(claimed).stream()
+                    .map(group -> CompletableFuture.runAsync(() -> process(group), executorOf(group.get(0))))
+                    .toArray(CompletableFuture[]::new))
+                    .join();
+        } while (claimed.size() == BATCH_SIZE);
+    }
+
+    // coalesceKey 가 같은 요청은 한 묶음으로, 나머지는 하나씩 처리한다.
+    private Collection<List<OutboxEvent>> groupByCoalesceKey(List<OutboxEvent> outboxEvents) {
+        Map<String, List<OutboxEvent>> groups = new LinkedHashMap<>();
+        outboxEvents.forEach(outboxEvent -> groups.computeIfAbsent(
+                outboxEvent.getCoalesceKey() != null ? outboxEvent.getCoalesceKey() : "#" + outboxEvent.getId(),
+                key -> new ArrayList<>()).add(outboxEvent));
+        return groups.values();
+    }
+
+    void process(List<OutboxEvent> group) {
+        OutboxEvent first = group.get(0);
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                List<OutboxEvent> outboxEvents = new ArrayList<>(group);
+                if (first.getCoalesceKey() != null) {
+                    outboxEvents.addAll(outboxEventRepository.findPendingByCoalesceKey(first.getCoalesceKey()));
+                }
+                outboxEventRepository.deleteClaimed(outboxEvents.stream().map(OutboxEvent::getId).collect(Collectors.toList()));
+                handle(first.getEventType(), outboxEvents);
+            });
+        } catch (RuntimeException e) {
+            log.warn("outbox event {}({}) failed on attempt {}", first.getId(), first.getEventType(), first.getAttempts() + 1, e);
+            fail(group.stream().collect(Collectors.toMap(OutboxEvent::getId, outboxEvent -> e.toString())));
+        }
+    }
+
+    // 핸들러가 없는 요청도 process 에서 실패로 기록되도록 어느 Executor 에든 태운다.
+    private Executor executorOf(OutboxEvent outboxEvent) {
+        return handlerExecutors.getOrDefault(outboxEvent.getEventType(), Runnable::run);
+    }
+
+    private void handle(String eventType, List<OutboxEvent> outboxEvents) {
+        OutboxHandler<?> handler = handlers.get(eventType);
+        if (handler == null) {
+            throw new IllegalStateException("outbox 핸들러가 없습니다. " + eventType);
+        }
+        handle(handler, outboxEvents);
+    }
+
+    private <T> void handle(OutboxHandler<T> handler, List<OutboxEvent> outboxEvents) {
+        List<T> payloads = new ArrayList<>();
+        for (OutboxEvent outboxEvent : outboxEvents) {
+            try {
+                payloads.add(objectMapper.readValue(outboxEvent.getPayload(), handler.getPayloadType()));
+            } catch (IOException e) {
+                throw new IllegalStateException("outbox payload 를 읽을 수 없습니다. " + outboxEvent.getPayload(), e);
+            }
+        }
+        handler.handleAll(payloads);
+    }
+}
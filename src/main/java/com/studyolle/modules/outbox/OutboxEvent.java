@@ -0,0 +1,42 @@
+package com.studyolle.modules.outbox;
+
+import com.studyolle.infra.queue.ClaimableWork;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+// 업무 데이터와 같은 트랜잭션에 저장되는 후속 처리 요청. 점유와 재시도는 ClaimableWork 를 따른다.
+@Entity
+@Getter
+@Setter
+@EqualsAndHashCode(of = "id", callSuper = false)
+@Table(indexes = {
+        @Index(columnList = "status, nextAttemptAt"),
+        @Index(columnList = "coalesceKey")
+})
+public class OutboxEvent extends ClaimableWork {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_event_seq")
+    @SequenceGenerator(name = "outbox_event_seq", sequenceName = "outbox_event_seq", allocationSize = 50)
+    private Long id;
+
+    private String eventType;
+
+    // 값이 같은 요청은 한 번에 모아서 핸들러에 넘긴다.
+    private String coalesceKey;
+
+    @Column(columnDefinition = "text")
+    private String payload;
+
+    public static OutboxEvent of(String eventType, String payload, LocalDateTime now) {
+        OutboxEvent outboxEvent = new OutboxEvent();
+        outboxEvent.setEventType(eventType);
+        outboxEvent.setPayload(payload);
+        outboxEvent.queue(now);
+        return outboxEvent;
+    }
+}
@@ -0,0 +1,31 @@
+package com.studyolle.modules.outbox;
+
+import com.studyolle.infra.queue.ClaimStatus;
+import com.studyolle.infra.queue.ClaimableWorkRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+
+@Transactional(readOnly = true)
+public interface OutboxEventRepository extends ClaimableWorkRepository<OutboxEvent> {
+
+    // 다른 노드가 이미 가져간 요청은 건너뛰고 아직 처리되지 않은 같은 묶음의 요청을 함께 가져간다.
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Query(value = "select * from outbox_event" +
+            " where coalesce_key = :coalesceKey and status = 'PENDING'" +
+            " order by id" +
+            " for update skip locked", nativeQuery = true)
+    List<OutboxEvent> findPendingByCoalesceKey(@Param("coalesceKey") String coalesceKey);
+
+    OutboxEvent findFirstByCoalesceKeyAndStatusOrderByIdAsc(String coalesceKey, ClaimStatus status);
+
+    @Modifying
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Query("delete from OutboxEvent o where o.id in :ids")
+    int deleteClaimed(@Param("ids") Collection<Long> ids);
+}
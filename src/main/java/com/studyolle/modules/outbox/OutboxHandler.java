@@ -0,0 +1,27 @@
+package com.studyolle.modules.outbox;
+
+import java.util.List;
+
+// outbox 에 쌓인 요청을 처리하는 쪽. payload 클래스 이름으로 요청과 핸들러를 짝짓는다.
+public interface OutboxHandler<T> {
+
+    Class<T> getPayloadType();
+
+    void handle(T payload);
+
+    // 같은 coalesceKey 로 모인 요청들. 모아서 한 번에 처리하려면 재정의한다.
+    default void handleAll(List<T> payloads) {
+        payloads.forEach(this::handle);
+    }
+
+    // 이 핸들러를 실행할 Executor 빈 이름
+    String getExecutorName();
+
+    default String getEventType() {
+        return eventTypeOf(getPayloadType());
+    }
+
+    static String eventTypeOf(Class<?> payloadType) {
+        return payloadType.getSimpleName();
+    }
+}
@@ -0,0 +1,54 @@
+package com.studyolle.modules.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.studyolle.infra.queue.ClaimStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+@Service
+@RequiredArgsConstructor
+public class OutboxService {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    // 호출한 쪽 트랜잭션에 함께 저장해서 업무 데이터가 커밋될 때만 후속 처리가 남도록 한다.
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(Object payload) {
+        outboxEventRepository.save(OutboxEvent.of(OutboxHandler.eventTypeOf(payload.getClass()), toJson(payload), LocalDateTime.now()));
+    }
+
+    // 같은 coalesceKey 로 window 안에 쌓인 요청은 한 번에 처리된다.
+    // 처음 쌓인 요청의 처리 시각에 맞춰서 뒤에 들어온 요청도 같은 시각에 처리되게 한다.
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(Object payload, String coalesceKey, Duration window) {
+        if (window.isZero() || window.isNegative()) {
+            append(payload);
+            return;
+        }
+
+        String eventType = OutboxHandler.eventTypeOf(payload.getClass());
+        String key = eventType + ":" + coalesceKey;
+        LocalDateTime now = LocalDateTime.now();
+
+        OutboxEvent outboxEvent = OutboxEvent.of(eventType, toJson(payload), now);
+        outboxEvent.setCoalesceKey(key);
+        OutboxEvent pending = outboxEventRepository.findFirstByCoalesceKeyAndStatusOrderByIdAsc(key, ClaimStatus.PENDING);
+        outboxEvent.setNextAttemptAt(pending != null && pending.getNextAttemptAt().isAfter(now) ? pending.getNextAttemptAt() : now.plus(window));
+        outboxEventRepository.save(outboxEvent);
+    }
+
+    private String toJson(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("outbox 에 저장할 수 없는 payload 입니다. " + payload, e);
+        }
+    }
+}
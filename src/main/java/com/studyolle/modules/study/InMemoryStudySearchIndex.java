@@ -0,0 +1,184 @@
+package com.studyolle.modules.study;
+
+import com.studyolle.modules.tag.Tag;
+import com.studyolle.modules.zone.Zone;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import static com.studyolle.infra.transaction.TransactionCallbacks.afterCommit;
+
+// 공개된 스터디의 제목, 태그, 지역 이름을 n-gram 으로 쪼개서 메모리에 역색인으로 들고 있는다.
+// n-gram 교집합으로 후보를 고른 뒤 원문 포함 여부를 다시 확인하기 때문에 결과는 LIKE '%keyword%' 검색과 같다.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "app.search", name = "mode", havingValue = "memory", matchIfMissing = true)
+public class InMemoryStudySearchIndex implements StudySearchIndex {
+
+    private static final int GRAM_SIZE = 2;
+
+    private final StudyRepository studyRepository;
+
+    private final Map<Long, IndexedStudy> studies = new ConcurrentHashMap<>();
+    private final Map<String, Set<Long>> postings = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void initIndex() {
+        studyRepository.findByPublished(true).forEach(this::index);
+        log.info("indexed {} published studies", studies.size());
+    }
+
+    // 색인할 내용은 트랜잭션 안에서 읽어 두고, 롤백된 변경이 검색되지 않도록 커밋된 뒤에 색인을 바꾼다.
+    @Override
+    public void index(Study study) {
+        if (study.getId() == null) {
+            return;
+        }
+
+        Long id = study.getId();
+        IndexedStudy indexedStudy = study.isPublished() ? new IndexedStudy(study) : null;
+        afterCommit(() -> replace(id, indexedStudy));
+    }
+
+    @Override
+    public void remove(Study study) {
+        if (study.getId() != null) {
+            Long id = study.getId();
+            afterCommit(() -> replace(id, null));
+        }
+    }
+
+    @Override
+    public List<Long> search(String keyword, StudySearchCursor cursor, int limit) {
+        if (keyword == null || keyword.isBlank()) {
+            return new ArrayList<>();
+        }
+
+        String normalizedKeyword = normalize(keyword);
+        List<IndexedStudy> matchedStudies = findCandidates(normalizedKeyword).stream()
+                .map(studies::get)
+                .filter(s -> s != null && s.contains(normalizedKeyword))
+                .sorted(comparatorOf(cursor))
+                .collect(Collectors.toList());
+
+        if (cursor.isBackward()) {
+            List<IndexedStudy> previousStudies = matchedStudies.stream()
+                    .filter(s -> compareToCursor(s, cursor) < 0)
+                    .collect(Collectors.toList());
+            return previousStudies.subList(Math.max(0, previousStudies.size() - limit), previousStudies.size()).stream()
+                    .map(IndexedStudy::getId)
+                    .collect(Collectors.toList());
+        }
+
+        return matchedStudies.stream()
+                .filter(s -> cursor.isFirst() || compareToCursor(s, cursor) > 0)
+                .limit(limit)
+                .map(IndexedStudy::getId)
+                .collect(Collectors.toList());
+    }
+
+    private synchronized void replace(Long id, IndexedStudy indexedStudy) {
+        removeById(id);
+
+        if (indexedStudy != null) {
+            studies.put(id, indexedStudy);
+            indexedStudy.grams().forEach(gram -> postings.computeIfAbsent(gram, g -> ConcurrentHashMap.newKeySet()).add(id));
+        }
+    }
+
+    private void removeById(Long id) {
+        IndexedStudy removed = studies.remove(id);
+        if (removed == null) {
+            return;
+        }
+
+        removed.grams().forEach(gram -> postings.computeIfPresent(gram, (g, ids) -> {
+            ids.remove(id);
+            return ids.isEmpty() ? null : ids;
+        }));
+    }
+
+    private Collection<Long> findCandidates(String keyword) {
+        if (keyword.length() < GRAM_SIZE) {
+            return new ArrayList<>(studies.keySet());
+        }
+
+        // 가장 짧은 posting 부터 교집합을 만들어야 중간 결과가 작게 유지된다.
+        List<Set<Long>> postingList = gramsOf(keyword).stream()
+                .map(gram -> postings.getOrDefault(gram, Collections.emptySet()))
+                .sorted(Comparator.comparingInt(Set::size))
+                .collect(Collectors.toList());
+
+        Set<Long> candidates = new HashSet<>(postingList.get(0));
+        for (int i = 1; i < postingList.size() && !candidates.isEmpty(); i++) {
+            candidates.retainAll(postingList.get(i));
+        }
+        return candidates;
+    }
+
+    // 화면 정렬 순서(정렬 값, id 내림차순)
+    private Comparator<IndexedStudy> comparatorOf(StudySearchCursor cursor) {
+        Comparator<IndexedStudy> comparator = cursor.isSortedByMemberCount()
+                ? Comparator.comparingInt(IndexedStudy::getMemberCount)
+                : Comparator.comparing(IndexedStudy::getPublishedDateTime);
+        return comparator.thenComparing(IndexedStudy::getId).reversed();
+    }
+
+    // 화면 정렬 순서에서 커서보다 뒤에 있으면 양수, 앞에 있으면 음수
+    private int compareToCursor(IndexedStudy study, StudySearchCursor cursor) {
+        int result = cursor.isSortedByMemberCount()
+                ? Integer.compare(cursor.getMemberCountKey(), study.getMemberCount())
+                : cursor.getPublishedDateTimeKey().compareTo(study.getPublishedDateTime());
+        return result != 0 ? result : Long.compare(cursor.getId(), study.getId());
+    }
+
+    private static String normalize(String text) {
+        return text.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static Set<String> gramsOf(String text) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM_SIZE <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM_SIZE));
+        }
+        return grams;
+    }
+
+    @Getter
+    private static class IndexedStudy {
+
+        private final Long id;
+        private final List<String> texts = new ArrayList<>();
+        private final LocalDateTime publishedDateTime;
+        private final int memberCount;
+
+        IndexedStudy(Study study) {
+            this.id = study.getId();
+            this.publishedDateTime = study.getPublishedDateTime() != null ? study.getPublishedDateTime() : LocalDateTime.MIN;
+            this.memberCount = study.getMemberCount();
+
+            if (study.getTitle() != null) {
+                texts.add(normalize(study.getTitle()));
+            }
+            study.getTags().stream().map(Tag::getTitle).map(InMemoryStudySearchIndex::normalize).forEach(texts::add);
+            study.getZones().stream().map(Zone::getLocalNameOfCity).map(InMemoryStudySearchIndex::normalize).forEach(texts::add);
+        }
+
+        boolean contains(String keyword) {
+            return texts.stream().anyMatch(text -> text.contains(keyword));
+        }
+
+        Set<String> grams() {
+            return texts.stream().flatMap(text -> gramsOf(text).stream()).collect(Collectors.toSet());
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.studyolle.modules.study;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManager;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+// 스터디 제목, 짧은 소개, 태그, 지역 이름을 합친 search_text 컬럼을 두고 pg_trgm, 전문 검색 GIN 인덱스로 검색한다.
+// 컬럼과 인덱스는 하이버네이트가 만들 수 없어서 시작할 때 직접 만들고, 준비하지 못하면 기존 LIKE 검색을 사용한다.
+// 시작할 때는 search_text 가 비어 있는 행만 채운다. 다른 검색 방식으로 운영하다 돌아오면 변경된 스터디가 예전 값으로 남으니
+// 그때는 search_text 를 NULL 로 비운 뒤에 시작한다.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "app.search", name = "mode", havingValue = "postgres")
+public class PostgresStudySearchIndex implements StudySearchIndex {
+
+    private static final String SEARCH_TEXT = "lower(concat_ws(' ', s.title, s.short_description, " +
+            "(SELECT string_agg(t.title, ' ') FROM study_tags st JOIN tag t ON t.id = st.tags_id WHERE st.study_id = s.id), " +
+            "(SELECT string_agg(z.local_name_of_city, ' ') FROM study_zones sz JOIN zone z ON z.id = sz.zones_id WHERE sz.study_id = s.id)))";
+
+    private static final String MATCH = "(s.search_text LIKE :pattern OR to_tsvector('simple', s.search_text) @@ plainto_tsquery('simple', :keyword))";
+
+    private static final String RANK = "(ts_rank(to_tsvector('simple', s.search_text), plainto_tsquery('simple', :keyword)) + word_similarity(:keyword, s.search_text))";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+    private final StudyRepository studyRepository;
+
+    private boolean available;
+
+    @PostConstruct
+    public void initSearchColumn() {
+        try {
+            jdbcTemplate.getJdbcTemplate().execute("CREATE EXTENSION IF NOT EXISTS pg_trgm");
+            jdbcTemplate.getJdbcTemplate().execute("ALTER TABLE study ADD COLUMN IF NOT EXISTS search_text text");
+            jdbcTemplate.getJdbcTemplate().execute("CREATE INDEX IF NOT EXISTS study_search_text_trgm_idx ON study USING gin (search_text gin_trgm_ops)");
+            jdbcTemplate.getJdbcTemplate().execute("CREATE INDEX IF NOT EXISTS study_search_text_fts_idx ON study USING gin (to_tsvector('simple', search_text))");
+            // 모든 행을 다시 쓰면 노드가 뜰 때마다 study 전체에 행 잠금을 잡으니 아직 계산하지 않은 행만 채운다.
+            jdbcTemplate.getJdbcTemplate().update("UPDATE study s SET search_text = " + SEARCH_TEXT + " WHERE s.search_text IS NULL");
+            available = true;
+        } catch (DataAccessException e) {
+            log.warn("failed to prepare study search column, falling back to LIKE search", e);
+        }
+    }
+
+    @Override
+    public void index(Study study) {
+        if (!available || study.getId() == null) {
+            return;
+        }
+
+        // 태그, 지역 변경이 조인 테이블에 반영된 뒤에 search_text 를 다시 계산해야 한다.
+        entityManager.flush();
+        jdbcTemplate.update("UPDATE study s SET search_text = " + SEARCH_TEXT + " WHERE s.id = :id",
+                new MapSqlParameterSource("id", study.getId()));
+    }
+
+    @Override
+    public void remove(Study study) {
+        // 스터디 행을 지울 때 search_text 도 같이 지워지니 따로 할 일이 없다.
+    }
+
+    @Override
+    public boolean supportsRelevance() {
+        return available;
+    }
+
+    @Override
+    public List<Long> search(String keyword, StudySearchCursor cursor, int limit) {
+        if (keyword == null || keyword.isBlank()) {
+            return new ArrayList<>();
+        }
+
+        if (!available) {
+            return studyRepository.findStudyIdsByKeyword(keyword, cursor, limit);
+        }
+
+        String normalizedKeyword = keyword.trim().toLowerCase();
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("keyword", normalizedKeyword)
+                .addValue("pattern", "%" + escapeLike(normalizedKeyword) + "%")
+                .addValue("limit", limit);
+
+        String sortColumn;
+        String cursorValue;
+        if (cursor.isSortedByRelevance()) {
+            sortColumn = RANK;
+            cursorValue = "(SELECT " + RANK + " FROM study s WHERE s.id = :cursorId)";
+        } else if (cursor.isSortedByMemberCount()) {
+            sortColumn = "s.member_count";
+            cursorValue = ":sortKey";
+        } else {
+            sortColumn = "s.published_date_time";
+            cursorValue = ":sortKey";
+        }
+
+        String direction = cursor.isBackward() ? " ASC" : " DESC";
+        StringBuilder sql = new StringBuilder("SELECT s.id FROM study s WHERE s.published = true AND ").append(MATCH);
+
+        if (!cursor.isFirst()) {
+            sql.append(" AND (").append(sortColumn).append(", s.id) ").append(cursor.isBackward() ? ">" : "<")
+                    .append(" (").append(cursorValue).append(", :cursorId)");
+            params.addValue("cursorId", cursor.getId());
+            if (cursor.isSortedByMemberCount()) {
+                params.addValue("sortKey", cursor.getMemberCountKey());
+            } else if (!cursor.isSortedByRelevance()) {
+                params.addValue("sortKey", Timestamp.valueOf(cursor.getPublishedDateTimeKey()));
+            }
+        }
+
+        sql.append(" ORDER BY ").append(sortColumn).append(direction).append(", s.id").append(direction).append(" LIMIT :limit");
+
+        List<Long> ids = new ArrayList<>(jdbcTemplate.queryForList(sql.toString(), params, Long.class));
+        if (cursor.isBackward()) {
+            Collections.reverse(ids);
+        }
+        return ids;
+    }
+
+    private String escapeLike(String keyword) {
+        return keyword.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,33 @@
+package com.studyolle.modules.study;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// 별도의 색인 없이 매번 데이터베이스에서 커서 기준으로 스터디 id 를 조회한다.
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "app.search", name = "mode", havingValue = "database")
+public class QueryDslStudySearchIndex implements StudySearchIndex {
+
+    private final StudyRepository studyRepository;
+
+    @Override
+    public void index(Study study) {
+    }
+
+    @Override
+    public void remove(Study study) {
+    }
+
+    @Override
+    public List<Long> search(String keyword, StudySearchCursor cursor, int limit) {
+        if (keyword == null || keyword.isBlank()) {
+            return new ArrayList<>();
+        }
+        return studyRepository.findStudyIdsByKeyword(keyword, cursor, limit);
+    }
+}
@@ -48,6 +48,10 @@ import java.util.Set;
 @NoArgsConstructor @AllArgsConstructor
 @EqualsAndHashCode(of = "id")
 @Entity
+@Table(indexes = {
+        @Index(columnList = "publishedDateTime, id"),
+        @Index(columnList = "memberCount, id")
+})
 public class Study {
 
     @Id @GeneratedValue
@@ -0,0 +1,31 @@
+package com.studyolle.modules.study;
+
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+public class StudyCursorPage {
+
+    private final List<Study> content;
+    private final String sortProperty;
+    private final String previousCursor;
+    private final String nextCursor;
+
+    public StudyCursorPage(List<Study> content, StudySearchCursor cursor, boolean hasPrevious, boolean hasNext) {
+        this.content = content;
+        this.sortProperty = cursor.getSortProperty();
+
+        boolean hasContent = !content.isEmpty();
+        this.previousCursor = hasContent && hasPrevious ? StudySearchCursor.before(content.get(0), sortProperty).encode() : null;
+        this.nextCursor = hasContent && hasNext ? StudySearchCursor.after(content.get(content.size() - 1), sortProperty).encode() : null;
+    }
+
+    public boolean hasPrevious() {
+        return this.previousCursor != null;
+    }
+
+    public boolean hasNext() {
+        return this.nextCursor != null;
+    }
+}
@@ -0,0 +1,187 @@
+package com.studyolle.modules.study;
+
+import com.studyolle.modules.account.Account;
+import com.studyolle.modules.account.AccountUpdatedEvent;
+import com.studyolle.modules.tag.Tag;
+import com.studyolle.modules.zone.Zone;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.annotation.PostConstruct;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static com.studyolle.infra.transaction.TransactionCallbacks.afterCommit;
+
+// 계정별 "관심 주제 스터디" 추천 목록을 메모리에 미리 계산해 둔다.
+// 공개 중인 스터디의 태그/지역 역색인과, 한번이라도 추천을 조회한 계정의 관심 태그/지역을 들고 있다가
+// 스터디나 계정의 태그/지역이 바뀌면 영향을 받는 계정의 목록만 다시 계산한다.
+// 순서는 겹치는 태그 수 + 겹치는 지역 수가 큰 순서, 같으면 최근 공개된 순서이다.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StudyRecommendationIndex {
+
+    public static final int RECOMMENDATION_SIZE = 9;
+
+    private final StudyRepository studyRepository;
+
+    private final Map<Long, RecommendableStudy> studies = new HashMap<>();
+    private final Map<Long, Set<Long>> studiesByTag = new HashMap<>();
+    private final Map<Long, Set<Long>> studiesByZone = new HashMap<>();
+
+    private final Map<Long, AccountInterest> accounts = new HashMap<>();
+    private final Map<Long, Set<Long>> accountsByTag = new HashMap<>();
+    private final Map<Long, Set<Long>> accountsByZone = new HashMap<>();
+
+    @PostConstruct
+    public void initIndex() {
+        studyRepository.findByPublishedAndClosed(true, false).forEach(this::index);
+        log.info("indexed {} recruiting studies for recommendation", studies.size());
+    }
+
+    // account 의 태그와 지역은 로딩되어 있어야 한다.
+    public synchronized List<Long> recommend(Account account) {
+        AccountInterest interest = accounts.get(account.getId());
+        if (interest == null) {
+            interest = new AccountInterest(account);
+            accounts.put(interest.getId(), interest);
+            interest.getTagIds().forEach(tagId -> accountsByTag.computeIfAbsent(tagId, t -> new HashSet<>()).add(account.getId()));
+            interest.getZoneIds().forEach(zoneId -> accountsByZone.computeIfAbsent(zoneId, z -> new HashSet<>()).add(account.getId()));
+            interest.setRecommendations(rank(interest));
+        }
+        return interest.getRecommendations();
+    }
+
+    // 추천에 쓸 내용은 트랜잭션 안에서 읽어 두고, 롤백된 변경이 추천되지 않도록 커밋된 뒤에 반영한다.
+    public void index(Study study) {
+        if (study.getId() == null) {
+            return;
+        }
+
+        Long id = study.getId();
+        RecommendableStudy recommendableStudy = study.isPublished() && !study.isClosed() ? new RecommendableStudy(study) : null;
+        afterCommit(() -> replace(id, recommendableStudy));
+    }
+
+    public void remove(Study study) {
+        if (study.getId() != null) {
+            Long id = study.getId();
+            afterCommit(() -> replace(id, null));
+        }
+    }
+
+    private synchronized void replace(Long id, RecommendableStudy recommendableStudy) {
+        Set<Long> affectedAccounts = new HashSet<>();
+        RecommendableStudy removed = removeById(id);
+        if (removed != null) {
+            affectedAccounts.addAll(accountsInterestedIn(removed));
+        }
+
+        if (recommendableStudy != null) {
+            studies.put(id, recommendableStudy);
+            recommendableStudy.getTagIds().forEach(tagId -> studiesByTag.computeIfAbsent(tagId, t -> new HashSet<>()).add(id));
+            recommendableStudy.getZoneIds().forEach(zoneId -> studiesByZone.computeIfAbsent(zoneId, z -> new HashSet<>()).add(id));
+            affectedAccounts.addAll(accountsInterestedIn(recommendableStudy));
+        }
+
+        affectedAccounts.stream().map(accounts::get).forEach(interest -> interest.setRecommendations(rank(interest)));
+    }
+
+    // 관심 태그/지역이 바뀐 계정은 다음 조회 때 새 태그/지역으로 다시 계산한다.
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void handleAccountUpdatedEvent(AccountUpdatedEvent accountUpdatedEvent) {
+        AccountInterest removed = accounts.remove(accountUpdatedEvent.getAccount().getId());
+        if (removed != null) {
+            removed.getTagIds().forEach(tagId -> removeFrom(accountsByTag, tagId, removed.getId()));
+            removed.getZoneIds().forEach(zoneId -> removeFrom(accountsByZone, zoneId, removed.getId()));
+        }
+    }
+
+    private RecommendableStudy removeById(Long id) {
+        RecommendableStudy removed = studies.remove(id);
+        if (removed != null) {
+            removed.getTagIds().forEach(tagId -> removeFrom(studiesByTag, tagId, id));
+            removed.getZoneIds().forEach(zoneId -> removeFrom(studiesByZone, zoneId, id));
+        }
+        return removed;
+    }
+
+    // 태그와 지역이 하나 이상씩 겹치는 계정
+    private Set<Long> accountsInterestedIn(RecommendableStudy study) {
+        Set<Long> byTag = study.getTagIds().stream()
+                .flatMap(tagId -> accountsByTag.getOrDefault(tagId, Collections.emptySet()).stream())
+                .collect(Collectors.toSet());
+        return study.getZoneIds().stream()
+                .flatMap(zoneId -> accountsByZone.getOrDefault(zoneId, Collections.emptySet()).stream())
+                .filter(byTag::contains)
+                .collect(Collectors.toSet());
+    }
+
+    private List<Long> rank(AccountInterest interest) {
+        Map<Long, Integer> scores = new HashMap<>();
+        interest.getTagIds().forEach(tagId -> studiesByTag.getOrDefault(tagId, Collections.emptySet())
+                .forEach(studyId -> scores.merge(studyId, 1, Integer::sum)));
+
+        Set<Long> zoneMatched = new HashSet<>();
+        interest.getZoneIds().forEach(zoneId -> studiesByZone.getOrDefault(zoneId, Collections.emptySet()).stream()
+                .filter(scores::containsKey)
+                .forEach(studyId -> {
+                    zoneMatched.add(studyId);
+                    scores.merge(studyId, 1, Integer::sum);
+                }));
+
+        Comparator<Long> byScore = Comparator.comparing(scores::get);
+        Comparator<Long> byPublishedDateTime = Comparator.comparing(studyId -> studies.get(studyId).getPublishedDateTime());
+        return zoneMatched.stream()
+                .sorted(byScore.thenComparing(byPublishedDateTime).thenComparing(Comparator.naturalOrder()).reversed())
+                .limit(RECOMMENDATION_SIZE)
+                .collect(Collectors.toList());
+    }
+
+    private static void removeFrom(Map<Long, Set<Long>> postings, Long key, Long id) {
+        postings.computeIfPresent(key, (k, ids) -> {
+            ids.remove(id);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+
+    @Getter
+    private static class RecommendableStudy {
+
+        private final Long id;
+        private final LocalDateTime publishedDateTime;
+        private final Set<Long> tagIds;
+        private final Set<Long> zoneIds;
+
+        RecommendableStudy(Study study) {
+            this.id = study.getId();
+            this.publishedDateTime = study.getPublishedDateTime() != null ? study.getPublishedDateTime() : LocalDateTime.MIN;
+            this.tagIds = study.getTags().stream().map(Tag::getId).collect(Collectors.toSet());
+            this.zoneIds = study.getZones().stream().map(Zone::getId).collect(Collectors.toSet());
+        }
+    }
+
+    @Getter
+    private static class AccountInterest {
+
+        private final Long id;
+        private final Set<Long> tagIds;
+        private final Set<Long> zoneIds;
+        private List<Long> recommendations = Collections.emptyList();
+
+        AccountInterest(Account account) {
+            this.id = account.getId();
+            this.tagIds = account.getTags().stream().map(Tag::getId).collect(Collectors.toSet());
+            this.zoneIds = account.getZones().stream().map(Zone::getId).collect(Collectors.toSet());
+        }
+
+        void setRecommendations(List<Long> recommendations) {
+            this.recommendations = List.copyOf(recommendations);
+        }
+    }
+}
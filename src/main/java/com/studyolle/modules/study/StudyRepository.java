@@ -40,4 +40,10 @@ public interface StudyRepository extends JpaRepository<Study, Long>, StudyReposi
     List<Study> findFirst5ByManagersContainingAndClosedOrderByPublishedDateTimeDesc(Account account, boolean b);
 
     List<Study>  findFirst5ByMembersContainingAndClosedOrderByPublishedDateTimeDesc(Account account, boolean b);
+
+    @EntityGraph(value = "Study.withTagsAndZones")
+    List<Study> findByPublished(boolean published);
+
+    @EntityGraph(value = "Study.withTagsAndZones")
+    List<Study> findByPublishedAndClosed(boolean published, boolean closed);
 }
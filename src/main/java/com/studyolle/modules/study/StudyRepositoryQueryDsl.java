@@ -1,18 +1,19 @@
 package com.studyolle.modules.study;
 
-import com.studyolle.modules.tag.Tag;
-import com.studyolle.modules.zone.Zone;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.Set;
 
 
 @Transactional(readOnly = true)
 public interface StudyRepositoryQueryDsl {
     Page<Study> findByKeyword(String keyword, Pageable pageable);
 
-    List<Study> findByAccount(Set<Tag> tags, Set<Zone> zones);
+    Page<Long> findStudyIdsByKeyword(String keyword, Pageable pageable);
+
+    List<Long> findStudyIdsByKeyword(String keyword, StudySearchCursor cursor, int limit);
+
+    List<Study> findWithTagsAndZonesByIdIn(List<Long> ids);
 }
@@ -1,18 +1,21 @@
 package com.studyolle.modules.study;
 
-import com.querydsl.core.QueryResults;
+import com.querydsl.core.types.OrderSpecifier;
+import com.querydsl.core.types.dsl.BooleanExpression;
 import com.querydsl.jpa.JPQLQuery;
 import com.studyolle.modules.tag.QTag;
-import com.studyolle.modules.tag.Tag;
 import com.studyolle.modules.zone.QZone;
-import com.studyolle.modules.zone.Zone;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.support.QuerydslRepositorySupport;
+import org.springframework.data.support.PageableExecutionUtils;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
-import java.util.Set;
 
 public class StudyRepositoryQueryDslImpl extends QuerydslRepositorySupport implements StudyRepositoryQueryDsl {
 
@@ -20,40 +23,93 @@ public class StudyRepositoryQueryDslImpl extends QuerydslRepositorySupport imple
         super(Study.class);
     }
 
+    // 컬렉션 fetch join 과 페이징을 같이 쓰면 하이버네이트가 메모리에서 페이징을 하기 때문에
+    // 먼저 해당 페이지의 스터디 id 만 조회하고, 그 id 들에 대해서만 태그와 지역을 한번에 가져온다.
     @Override
     public Page<Study> findByKeyword(String keyword, Pageable pageable) {
+        Page<Long> studyIdPage = findStudyIdsByKeyword(keyword, pageable);
+        return new PageImpl<>(findWithTagsAndZonesByIdIn(studyIdPage.getContent()), pageable, studyIdPage.getTotalElements());
+    }
 
+    @Override
+    public Page<Long> findStudyIdsByKeyword(String keyword, Pageable pageable) {
         QStudy study = QStudy.study;
 
-        JPQLQuery<Study> query = from(study).where(study.published.isTrue()
-                .and(study.title.containsIgnoreCase(keyword))
-                .or(study.tags.any().title.containsIgnoreCase(keyword))
-                .or(study.zones.any().localNameOfCity.containsIgnoreCase(keyword)))
-                .leftJoin(study.tags, QTag.tag).fetchJoin()
-                .leftJoin(study.zones, QZone.zone).fetchJoin()
-                .distinct();
+        JPQLQuery<Long> idQuery = from(study).select(study.id).where(keywordPredicate(study, keyword));
+        JPQLQuery<Long> countQuery = from(study).select(study.id).where(keywordPredicate(study, keyword));
+
+        List<Long> ids = getQuerydsl().applyPagination(pageable, idQuery).fetch();
+        return PageableExecutionUtils.getPage(ids, pageable, countQuery::fetchCount);
+    }
+
+    // offset 대신 (정렬 값, id) 를 기준으로 다음 페이지를 찾기 때문에 몇 번째 페이지든 비용이 같다.
+    @Override
+    public List<Long> findStudyIdsByKeyword(String keyword, StudySearchCursor cursor, int limit) {
+        QStudy study = QStudy.study;
 
-        JPQLQuery<Study> pageableQuery = getQuerydsl().applyPagination(pageable, query);
-        QueryResults<Study> fetchResults = pageableQuery.fetchResults();
+        List<Long> ids = new ArrayList<>(from(study)
+                .select(study.id)
+                .where(keywordPredicate(study, keyword), seekPredicate(study, cursor))
+                .orderBy(sortKeyOrder(study, cursor), cursor.isBackward() ? study.id.asc() : study.id.desc())
+                .limit(limit)
+                .fetch());
 
-        return new PageImpl<Study>(fetchResults.getResults(), pageable, fetchResults.getTotal());
+        if (cursor.isBackward()) {
+            Collections.reverse(ids);
+        }
+        return ids;
+    }
+
+    private BooleanExpression seekPredicate(QStudy study, StudySearchCursor cursor) {
+        if (cursor.isFirst()) {
+            return null;
+        }
+
+        Long id = cursor.getId();
+        if (cursor.isSortedByMemberCount()) {
+            int memberCount = cursor.getMemberCountKey();
+            return cursor.isBackward()
+                    ? study.memberCount.gt(memberCount).or(study.memberCount.eq(memberCount).and(study.id.gt(id)))
+                    : study.memberCount.lt(memberCount).or(study.memberCount.eq(memberCount).and(study.id.lt(id)));
+        }
+
+        LocalDateTime publishedDateTime = cursor.getPublishedDateTimeKey();
+        return cursor.isBackward()
+                ? study.publishedDateTime.gt(publishedDateTime).or(study.publishedDateTime.eq(publishedDateTime).and(study.id.gt(id)))
+                : study.publishedDateTime.lt(publishedDateTime).or(study.publishedDateTime.eq(publishedDateTime).and(study.id.lt(id)));
+    }
 
+    private OrderSpecifier<?> sortKeyOrder(QStudy study, StudySearchCursor cursor) {
+        if (cursor.isSortedByMemberCount()) {
+            return cursor.isBackward() ? study.memberCount.asc() : study.memberCount.desc();
+        }
+        return cursor.isBackward() ? study.publishedDateTime.asc() : study.publishedDateTime.desc();
+    }
+
+    private BooleanExpression keywordPredicate(QStudy study, String keyword) {
+        return study.published.isTrue()
+                .and(study.title.containsIgnoreCase(keyword)
+                        .or(study.tags.any().title.containsIgnoreCase(keyword))
+                        .or(study.zones.any().localNameOfCity.containsIgnoreCase(keyword)));
     }
 
     @Override
-    public List<Study> findByAccount(Set<Tag> tags, Set<Zone> zones) {
+    public List<Study> findWithTagsAndZonesByIdIn(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+
         QStudy study = QStudy.study;
-        JPQLQuery<Study> query = from(study)
-                .where(study.published.isTrue()
-                        .and(study.closed.isFalse())
-                        .and(study.tags.any().in(tags))
-                        .and(study.zones.any().in(zones)))
+        List<Study> studies = from(study)
+                .where(study.id.in(ids))
                 .leftJoin(study.tags, QTag.tag).fetchJoin()
                 .leftJoin(study.zones, QZone.zone).fetchJoin()
-                .orderBy(study.publishedDateTime.desc())
                 .distinct()
-                .limit(9);
-        return query.fetch();
+                .fetch();
+
+        // in 절은 순서를 보장하지 않기 때문에 넘겨받은 id 순서대로 다시 정렬한다.
+        studies.sort(Comparator.comparingInt(s -> ids.indexOf(s.getId())));
+        return studies;
     }
 
 }
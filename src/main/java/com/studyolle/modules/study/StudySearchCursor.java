@@ -0,0 +1,115 @@
+package com.studyolle.modules.study;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+// 검색 결과 페이지의 위치를 (정렬 값, 스터디 id) 로 나타낸다. 화면에는 인코딩된 문자열로만 노출한다.
+// 정렬은 항상 정렬 값, id 모두 내림차순이고 backward 는 이전 페이지 방향으로 읽는다는 뜻이다.
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class StudySearchCursor {
+
+    public static final String PUBLISHED_DATE_TIME = "publishedDateTime";
+    public static final String MEMBER_COUNT = "memberCount";
+    public static final String RELEVANCE = "relevance";
+
+    private static final String DELIMITER = "|";
+
+    private final String sortProperty;
+    private final String sortKey;
+    private final Long id;
+    private final boolean backward;
+
+    public static StudySearchCursor first(String sortProperty) {
+        return new StudySearchCursor(sortPropertyOf(sortProperty), null, null, false);
+    }
+
+    public static StudySearchCursor after(Study study, String sortProperty) {
+        String property = sortPropertyOf(sortProperty);
+        return new StudySearchCursor(property, sortKeyOf(study, property), study.getId(), false);
+    }
+
+    public static StudySearchCursor before(Study study, String sortProperty) {
+        String property = sortPropertyOf(sortProperty);
+        return new StudySearchCursor(property, sortKeyOf(study, property), study.getId(), true);
+    }
+
+    // 잘못된 커서나 정렬 방식이 바뀐 커서는 첫 페이지로 취급한다.
+    public static StudySearchCursor decode(String token, String sortProperty) {
+        String property = sortPropertyOf(sortProperty);
+        if (token == null || token.isBlank()) {
+            return first(property);
+        }
+
+        try {
+            String[] values = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split("\\" + DELIMITER);
+            StudySearchCursor cursor = new StudySearchCursor(values[0], values[1], Long.valueOf(values[2]), "prev".equals(values[3]));
+            if (!cursor.getSortProperty().equals(property)) {
+                return first(property);
+            }
+            cursor.validateSortKey();
+            return cursor;
+        } catch (RuntimeException e) {
+            return first(property);
+        }
+    }
+
+    public String encode() {
+        String value = String.join(DELIMITER, sortProperty, sortKey, String.valueOf(id), backward ? "prev" : "next");
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public boolean isFirst() {
+        return this.id == null;
+    }
+
+    public boolean isSortedByMemberCount() {
+        return MEMBER_COUNT.equals(this.sortProperty);
+    }
+
+    // 관련도 점수는 키워드마다 달라지기 때문에 커서에는 id 만 의미가 있고, 점수는 검색할 때 다시 계산한다.
+    public boolean isSortedByRelevance() {
+        return RELEVANCE.equals(this.sortProperty);
+    }
+
+    public int getMemberCountKey() {
+        return Integer.parseInt(this.sortKey);
+    }
+
+    public LocalDateTime getPublishedDateTimeKey() {
+        return LocalDateTime.parse(this.sortKey);
+    }
+
+    private void validateSortKey() {
+        if (isSortedByMemberCount()) {
+            getMemberCountKey();
+        } else if (!isSortedByRelevance()) {
+            getPublishedDateTimeKey();
+        }
+    }
+
+    private static String sortPropertyOf(String sortProperty) {
+        if (sortProperty != null && sortProperty.startsWith(MEMBER_COUNT)) {
+            return MEMBER_COUNT;
+        }
+        if (RELEVANCE.equals(sortProperty)) {
+            return RELEVANCE;
+        }
+        return PUBLISHED_DATE_TIME;
+    }
+
+    private static String sortKeyOf(Study study, String sortProperty) {
+        if (MEMBER_COUNT.equals(sortProperty)) {
+            return String.valueOf(study.getMemberCount());
+        }
+        if (RELEVANCE.equals(sortProperty)) {
+            return String.valueOf(study.getId());
+        }
+        return String.valueOf(study.getPublishedDateTime());
+    }
+}
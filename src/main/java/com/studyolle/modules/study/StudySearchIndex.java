@@ -0,0 +1,18 @@
+package com.studyolle.modules.study;
+
+import java.util.List;
+
+// 스터디 키워드 검색용 색인. 검색 결과로는 커서 다음(또는 이전)의 스터디 id 를 화면 정렬 순서대로 돌려주고,
+// 실제 엔티티 로딩은 호출하는 쪽에서 한다.
+public interface StudySearchIndex {
+
+    void index(Study study);
+
+    void remove(Study study);
+
+    List<Long> search(String keyword, StudySearchCursor cursor, int limit);
+
+    default boolean supportsRelevance() {
+        return false;
+    }
+}
@@ -2,6 +2,7 @@ package com.studyolle.modules.study;
 
 import com.studyolle.modules.account.Account;
 import com.studyolle.modules.study.event.StudyCreatedEvent;
+import com.studyolle.modules.study.event.StudyMemberChangedEvent;
 import com.studyolle.modules.tag.Tag;
 import com.studyolle.modules.tag.TagRepository;
 import com.studyolle.modules.tag.TagService;
@@ -15,6 +16,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
 
 import static com.studyolle.modules.study.form.StudyForm.VALID_PATH_PATTERN;
@@ -28,11 +30,14 @@ public class StudyService {
     private final ModelMapper modelMapper;
     private final ApplicationEventPublisher eventPublisher;
     private final TagService tagService;
+    private final StudySearchIndex studySearchIndex;
+    private final StudyRecommendationIndex studyRecommendationIndex;
 
 
     public Study createNewStudy(Study study, Account account) {
         Study newStudy = studyRepository.save(study);
         newStudy.addManager(account);
+        eventPublisher.publishEvent(new StudyMemberChangedEvent(newStudy, account));
         return newStudy;
     }
 
@@ -64,6 +69,7 @@ public class StudyService {
 
     public void updateStudyDescription(Study study, StudyDescriptionForm studyDescriptionForm) {
         modelMapper.map(studyDescriptionForm, study);
+        studySearchIndex.index(study);
         this.eventPublisher.publishEvent(new StudyUpdateEvent(study, "스터디 소개를 수정했습니다."));
     }
 
@@ -81,19 +87,26 @@ public class StudyService {
 
     public void addTag(Study study, Tag tag) {
         study.getTags().add(tag);
+        studySearchIndex.index(study);
+        studyRecommendationIndex.index(study);
     }
 
     public void removeTag(Study study, Tag tag) {
         study.getTags().remove(tag);
+        studySearchIndex.index(study);
+        studyRecommendationIndex.index(study);
     }
 
     public void addZone(Study study, Zone zone) {
         study.getZones().add(zone);
+        studySearchIndex.index(study);
+        studyRecommendationIndex.index(study);
     }
 
     public void removeZone(Study study, Zone zone) {
         study.getZones().remove(zone);
-
+        studySearchIndex.index(study);
+        studyRecommendationIndex.index(study);
     }
 
     private void studyExistingVerifier(String path, Study study) {
@@ -110,12 +123,16 @@ public class StudyService {
 
     public void publish(Study study) {
         study.publish();
+        studySearchIndex.index(study);
+        studyRecommendationIndex.index(study);
 
         this.eventPublisher.publishEvent(new StudyCreatedEvent(study));
     }
 
     public void close(Study study) {
         study.close();
+        studySearchIndex.index(study);
+        studyRecommendationIndex.index(study);
         this.eventPublisher.publishEvent(new StudyUpdateEvent(study, "스터디를 종료했습니다."));
 
     }
@@ -158,11 +175,14 @@ public class StudyService {
 
     public void updateStudyTitle(Study study, String newTitle) {
         study.setTitle(newTitle);
+        studySearchIndex.index(study);
     }
 
     public void remove(Study study) {
         if (study.isRemovable()) {
             studyRepository.delete(study);
+            studySearchIndex.remove(study);
+            studyRecommendationIndex.remove(study);
         } else {
             throw new IllegalArgumentException("스터디를 삭제할 수 없습니다.");
         }
@@ -171,6 +191,8 @@ public class StudyService {
     public void addMember(Study study, Account account) {
         if (!study.checkMember(account)) {
             study.getMembers().add(account);
+            studySearchIndex.index(study);
+            eventPublisher.publishEvent(new StudyMemberChangedEvent(study, account));
         } else {
             throw new IllegalArgumentException("스터디에 가입할 수 없습니다.");
         }
@@ -179,11 +201,36 @@ public class StudyService {
     public void removeMember(Study study, Account account) {
         if (study.checkMember(account)) {
             study.removeMember(account);
+            studySearchIndex.index(study);
+            eventPublisher.publishEvent(new StudyMemberChangedEvent(study, account));
         } else {
             throw new IllegalArgumentException("스터디에서 탈퇴할 수 없습니다.");
         }
     }
 
+    @Transactional(readOnly = true)
+    public StudyCursorPage searchStudies(String keyword, StudySearchCursor cursor, int size) {
+        if (cursor.isSortedByRelevance() && !studySearchIndex.supportsRelevance()) {
+            cursor = StudySearchCursor.first(StudySearchCursor.PUBLISHED_DATE_TIME);
+        }
+
+        // 한 건을 더 조회해서 커서 방향으로 페이지가 더 있는지 확인한다.
+        List<Long> ids = studySearchIndex.search(keyword, cursor, size + 1);
+        boolean hasMore = ids.size() > size;
+        if (hasMore) {
+            ids = cursor.isBackward() ? ids.subList(1, ids.size()) : ids.subList(0, size);
+        }
+
+        List<Study> studies = studyRepository.findWithTagsAndZonesByIdIn(ids);
+        return cursor.isBackward()
+                ? new StudyCursorPage(studies, cursor, hasMore, true)
+                : new StudyCursorPage(studies, cursor, !cursor.isFirst(), hasMore);
+    }
+
+    public boolean supportsRelevanceSearch() {
+        return studySearchIndex.supportsRelevance();
+    }
+
     public Study getStudyToEnroll(String path) {
 
         Study study = studyRepository.findStudyOnlyByPath(path);
@@ -214,7 +261,8 @@ public class StudyService {
 
             Tag tag = tagService.findOrCreateNew("JPA");
             newStudy.getTags().add(tag);
-
+            studySearchIndex.index(newStudy);
+            studyRecommendationIndex.index(newStudy);
         }
     }
 }
@@ -0,0 +1,27 @@
+package com.studyolle.modules.study.event;
+
+import com.studyolle.modules.outbox.OutboxHandler;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class StudyCreatedHandler implements OutboxHandler<StudyCreatedPayload> {
+
+    private final StudyEventListener studyEventListener;
+
+    @Override
+    public Class<StudyCreatedPayload> getPayloadType() {
+        return StudyCreatedPayload.class;
+    }
+
+    @Override
+    public String getExecutorName() {
+        return "studyFanOutExecutor";
+    }
+
+    @Override
+    public void handle(StudyCreatedPayload payload) {
+        studyEventListener.notifyStudyCreated(payload);
+    }
+}
@@ -0,0 +1,16 @@
+package com.studyolle.modules.study.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class StudyCreatedPayload {
+
+    private Long studyId;
+
+    // 앞 트랜잭션에서 마지막으로 알림을 보낸 계정 id. 처음 요청이면 null 이다.
+    private Long lastAccountId;
+}
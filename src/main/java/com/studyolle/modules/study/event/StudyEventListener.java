@@ -3,82 +3,144 @@ package com.studyolle.modules.study.event;
 import com.studyolle.infra.config.AppProperties;
 import com.studyolle.infra.mail.EmailMessage;
 import com.studyolle.infra.mail.EmailService;
+import com.studyolle.infra.mail.PreparedMailTemplate;
 import com.studyolle.modules.account.Account;
-import com.studyolle.modules.account.AccountPredicates;
 import com.studyolle.modules.account.AccountRepository;
+import com.studyolle.modules.account.AccountSubscriptionIndex;
 import com.studyolle.modules.notification.Notification;
+import com.studyolle.modules.notification.NotificationCountCache;
 import com.studyolle.modules.notification.NotificationRepository;
+import com.studyolle.modules.notification.NotificationStreamRegistry;
 import com.studyolle.modules.notification.NotificationType;
+import com.studyolle.modules.outbox.OutboxService;
 import com.studyolle.modules.study.Study;
 import com.studyolle.modules.study.StudyRepository;
 import com.studyolle.modules.study.StudyUpdateEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.longlong.Roaring64NavigableMap;
 import org.springframework.context.event.EventListener;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 import org.thymeleaf.TemplateEngine;
 import org.thymeleaf.context.Context;
 
 import java.time.LocalDateTime;
-import java.util.HashSet;
-import java.util.Set;
+import java.util.*;
+import java.util.stream.Collectors;
 
 @Slf4j
-@Async
 @Transactional
 @Component
 @RequiredArgsConstructor
 public class StudyEventListener {
 
+    private static final int FAN_OUT_CHUNK_SIZE = 500;
+    private static final int NOTIFICATION_MESSAGE_LENGTH = 255;
+
     private final StudyRepository studyRepository;
     private final AccountRepository accountRepository;
+    private final AccountSubscriptionIndex accountSubscriptionIndex;
     private final NotificationRepository notificationRepository;
+    private final NotificationCountCache notificationCountCache;
+    private final NotificationStreamRegistry notificationStreamRegistry;
     private final EmailService emailService;
     private final TemplateEngine templateEngine;
     private final AppProperties appProperties;
+    private final OutboxService outboxService;
 
-
+    // 이벤트를 발행한 트랜잭션 안에서 outbox 에 요청만 남기고, 알림과 메일은 OutboxDispatcher 가 처리한다.
     @EventListener
     public void handleStudyCreatedEvent(StudyCreatedEvent studyCreatedEvent) {
-        Study study = studyRepository.findStudyWithTagsAndZonesById(studyCreatedEvent.getStudy().getId());
+        outboxService.append(new StudyCreatedPayload(studyCreatedEvent.getStudy().getId(), null));
+    }
 
-        Iterable<Account> accounts = accountRepository.findAll(AccountPredicates.findByTagsAndZones(study.getTags(), study.getZones()));
+    // 같은 스터디의 새소식은 app.notification-digest-window 동안 모았다가 알림 하나, 메일 하나로 보낸다.
+    @EventListener
+    public void handleStudyUpdateEvent(StudyUpdateEvent studyUpdateEvent) {
+        Long studyId = studyUpdateEvent.getStudy().getId();
+        outboxService.append(new StudyUpdatedPayload(studyId, studyUpdateEvent.getMessage()), String.valueOf(studyId),
+                appProperties.getNotificationDigestWindow());
+    }
 
-        accounts.forEach(a -> {
+    public void notifyStudyCreated(StudyCreatedPayload payload) {
+        Study study = studyRepository.findStudyWithTagsAndZonesById(payload.getStudyId());
+        if (study == null) {
+            return;
+        }
+
+        // 수신자 id 는 구독 색인에서 비트맵 연산으로 한번에 구하고, 트랜잭션 하나에서는 한 청크만 처리한다.
+        // 남은 수신자가 있으면 이번 청크의 마지막 id 를 담은 요청을 같은 트랜잭션으로 outbox 에 남겨서 다음 트랜잭션이 이어받는다.
+        // 그래서 수신자가 아무리 많아도 점유 시간(LEASE) 안에 커밋되고, 다른 노드가 같은 요청을 다시 가져가서 알림이 중복되지 않는다.
+        Roaring64NavigableMap accountIds = accountSubscriptionIndex.findAccountIds(study.getTags(), study.getZones());
+        long from = payload.getLastAccountId() != null ? accountIds.rankLong(payload.getLastAccountId()) : 0;
+        long to = Math.min(from + FAN_OUT_CHUNK_SIZE, accountIds.getLongCardinality());
+        if (from >= to) {
+            return;
+        }
+
+        List<Long> chunk = new ArrayList<>(FAN_OUT_CHUNK_SIZE);
+        for (long i = from; i < to; i++) {
+            chunk.add(accountIds.select(i));
+        }
+
+        PreparedMailTemplate studyCreatedMail = prepareStudyMail(study, "새로운 스터디가 생겼습니다.");
+        List<Notification> notifications = new ArrayList<>();
+        for (Account a : accountRepository.findAllById(chunk)) {
             if (a.isStudyCreatedByEmail()) {
-                sendStudyCreatedEmail(study, a, "새로운 스터디가 생겼습니다.", "스터디올래, '" + study.getTitle() + "' 스터디가 생겼습니다.");
+                sendStudyEmail(studyCreatedMail, a, "스터디올래, '" + study.getTitle() + "' 스터디가 생겼습니다.");
             }
 
             if (a.isStudyCreatedByWeb()) {
-                createNotification(study, a, study.getShortDescription(), NotificationType.STUDY_CREATED);
-
+                notifications.add(newNotification(study, a, study.getShortDescription(), NotificationType.STUDY_CREATED));
             }
-        });
+        }
+        saveNotifications(notifications);
+
+        if (to < accountIds.getLongCardinality()) {
+            outboxService.append(new StudyCreatedPayload(study.getId(), chunk.get(chunk.size() - 1)));
+        }
     }
 
-    @EventListener
-    public void handleStudyUpdateEvent(StudyUpdateEvent studyUpdateEvent) {
-        Study study = studyRepository.findStudyWithManagersAndMembersById(studyUpdateEvent.getStudy().getId());
+    public void notifyStudyUpdated(List<StudyUpdatedPayload> payloads) {
+        Study study = studyRepository.findStudyWithManagersAndMembersById(payloads.get(0).getStudyId());
+        if (study == null) {
+            return;
+        }
 
         Set<Account> accounts = new HashSet<>();
 
         accounts.addAll(study.getManagers());
         accounts.addAll(study.getMembers());
 
+        String message = digestMessage(payloads);
+        String notificationMessage = message.length() > NOTIFICATION_MESSAGE_LENGTH
+                ? message.substring(0, NOTIFICATION_MESSAGE_LENGTH - 3) + "..." : message;
+
+        PreparedMailTemplate studyUpdatedMail = prepareStudyMail(study, message);
+        List<Notification> notifications = new ArrayList<>();
         accounts.forEach(a -> {
             if (a.isStudyUpdatedByEmail()) {
-                sendStudyCreatedEmail(study, a, studyUpdateEvent.getMessage(), "스터디올래, '" + study.getTitle() + "' 스터디에 새소식이 있습니다.");
+                sendStudyEmail(studyUpdatedMail, a, "스터디올래, '" + study.getTitle() + "' 스터디에 새소식이 있습니다.");
             }
 
             if (a.isStudyUpdatedByWeb()) {
-                createNotification(study, a, studyUpdateEvent.getMessage(), NotificationType.STUDY_UPDATED);
+                notifications.add(newNotification(study, a, notificationMessage, NotificationType.STUDY_UPDATED));
             }
         });
+        saveNotifications(notifications);
     }
 
-    private void createNotification(Study study, Account account, String message, NotificationType notificationType) {
+    private String digestMessage(List<StudyUpdatedPayload> payloads) {
+        if (payloads.size() == 1) {
+            return payloads.get(0).getMessage();
+        }
+
+        return "새소식이 " + payloads.size() + "건 있습니다. "
+                + payloads.stream().map(StudyUpdatedPayload::getMessage).collect(Collectors.joining(" / "));
+    }
+
+    private Notification newNotification(Study study, Account account, String message, NotificationType notificationType) {
         Notification notification = new Notification();
         notification.setTitle(study.getTitle());
         notification.setLink("/study/" + study.getEncodedPath());
@@ -87,24 +149,30 @@ public class StudyEventListener {
         notification.setMessage(message);
         notification.setAccount(account);
         notification.setNotificationType(notificationType);
+        return notification;
+    }
 
-        notificationRepository.save(notification);
+    private void saveNotifications(List<Notification> notifications) {
+        notificationRepository.saveAll(notifications);
+        notificationCountCache.evict(notifications.stream().map(notification -> notification.getAccount().getId()).collect(Collectors.toList()));
+        notificationStreamRegistry.publish(notifications);
     }
 
-    private void sendStudyCreatedEmail(Study study, Account account, String contextMessage, String emailSubject) {
+    // 수신자마다 다른 건 nickname 뿐이라서 본문은 한 번만 렌더링해 두고 nickname 만 채운다.
+    private PreparedMailTemplate prepareStudyMail(Study study, String contextMessage) {
         Context context = new Context();
         context.setVariable("link", "/study/" + study.getEncodedPath());
-        context.setVariable("nickname", account.getNickname());
         context.setVariable("linkName", study.getTitle());
-        context.setVariable("message",contextMessage);
+        context.setVariable("message", contextMessage);
         context.setVariable("host", appProperties.getHost());
+        return PreparedMailTemplate.prepare(templateEngine, "mail/simple-link", context, "nickname");
+    }
 
-        String bodyMessage = templateEngine.process("mail/simple-link", context);
-
+    private void sendStudyEmail(PreparedMailTemplate mailTemplate, Account account, String emailSubject) {
         EmailMessage emailMessage = EmailMessage.builder()
                 .subject(emailSubject)
                 .to(account.getEmail())
-                .message(bodyMessage)
+                .message(mailTemplate.render(Map.of("nickname", account.getNickname())))
                 .build();
 
         emailService.sendEmail(emailMessage);
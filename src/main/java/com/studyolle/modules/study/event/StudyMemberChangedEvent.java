@@ -0,0 +1,15 @@
+package com.studyolle.modules.study.event;
+
+import com.studyolle.modules.account.Account;
+import com.studyolle.modules.study.Study;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+// 스터디 관리자나 멤버가 추가/제거 되었을 때 발생한다.
+@Getter
+@RequiredArgsConstructor
+public class StudyMemberChangedEvent {
+
+    private final Study study;
+    private final Account account;
+}
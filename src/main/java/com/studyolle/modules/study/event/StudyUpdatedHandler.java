@@ -0,0 +1,34 @@
+package com.studyolle.modules.study.event;
+
+import com.studyolle.modules.outbox.OutboxHandler;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+public class StudyUpdatedHandler implements OutboxHandler<StudyUpdatedPayload> {
+
+    private final StudyEventListener studyEventListener;
+
+    @Override
+    public Class<StudyUpdatedPayload> getPayloadType() {
+        return StudyUpdatedPayload.class;
+    }
+
+    @Override
+    public String getExecutorName() {
+        return "studyFanOutExecutor";
+    }
+
+    @Override
+    public void handle(StudyUpdatedPayload payload) {
+        studyEventListener.notifyStudyUpdated(List.of(payload));
+    }
+
+    @Override
+    public void handleAll(List<StudyUpdatedPayload> payloads) {
+        studyEventListener.notifyStudyUpdated(payloads);
+    }
+}
@@ -0,0 +1,14 @@
+package com.studyolle.modules.study.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class StudyUpdatedPayload {
+
+    private Long studyId;
+    private String message;
+}
@@ -0,0 +1,87 @@
+package com.studyolle.infra.cluster;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.studyolle.infra.AbstractContainerBaseTest;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 메시지는 커밋된 뒤에 전달되므로 @Transactional 없이 실행하고, 같은 DB 를 듣는 브로드캐스터를 하나 더 띄워서 다른 노드로 쓴다.
+@ActiveProfiles("test")
+@SpringBootTest
+class ClusterBroadcasterTest extends AbstractContainerBaseTest {
+
+    @Autowired ClusterBroadcaster clusterBroadcaster;
+    @Autowired DataSource dataSource;
+    @Autowired JdbcTemplate jdbcTemplate;
+    @Autowired ObjectMapper objectMapper;
+    @Autowired TransactionTemplate transactionTemplate;
+
+    BlockingQueue<Object> received = new LinkedBlockingQueue<>();
+    ClusterBroadcaster otherNode;
+
+    @BeforeEach
+    void beforeEach() throws InterruptedException {
+        otherNode = new ClusterBroadcaster(dataSource, jdbcTemplate, objectMapper, received::add);
+        otherNode.startListening();
+        assertTrue(received.poll(10, TimeUnit.SECONDS) instanceof ClusterResetEvent);
+    }
+
+    @AfterEach
+    void afterEach() throws InterruptedException {
+        otherNode.stopListening();
+    }
+
+    @DisplayName("보낸 트랜잭션이 커밋되면 다른 노드에 전달하고, 롤백되면 전달하지 않는다.")
+    @Test
+    void broadcast_after_commit() throws InterruptedException {
+        transactionTemplate.executeWithoutResult(status -> {
+            clusterBroadcaster.broadcast(new TestMessage("rollback"));
+            status.setRollbackOnly();
+        });
+        transactionTemplate.executeWithoutResult(status -> clusterBroadcaster.broadcast(new TestMessage("commit")));
+
+        assertEquals("commit", ((TestMessage) received.poll(10, TimeUnit.SECONDS)).getText());
+        assertNull(received.poll(1, TimeUnit.SECONDS));
+    }
+
+    @DisplayName("자기 노드가 보낸 메시지는 받지 않는다.")
+    @Test
+    void ignore_own_message() throws InterruptedException {
+        otherNode.broadcast(new TestMessage("mine"));
+        clusterBroadcaster.broadcast(new TestMessage("theirs"));
+
+        assertEquals("theirs", ((TestMessage) received.poll(10, TimeUnit.SECONDS)).getText());
+        assertNull(received.poll(1, TimeUnit.SECONDS));
+    }
+
+    @DisplayName("크기 제한을 넘는 메시지는 보내지 않는다.")
+    @Test
+    void reject_too_large_message() {
+        assertThrows(IllegalArgumentException.class,
+                () -> clusterBroadcaster.broadcast(new TestMessage("a".repeat(ClusterBroadcaster.MAX_PAYLOAD_BYTES))));
+    }
+
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class TestMessage implements ClusterMessage {
+        private String text;
+    }
+}
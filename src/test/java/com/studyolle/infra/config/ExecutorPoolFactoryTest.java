@@ -0,0 +1,131 @@
+package com.studyolle.infra.config;
+
+import com.studyolle.infra.config.AppProperties.Backpressure;
+import com.studyolle.infra.config.AppProperties.ExecutorPool;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExecutorPoolFactoryTest {
+
+    AppProperties appProperties = new AppProperties();
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    ExecutorPoolFactory executorPoolFactory = new ExecutorPoolFactory(appProperties, meterRegistry);
+    CountDownLatch release = new CountDownLatch(1);
+    ThreadPoolTaskExecutor executor;
+
+    @AfterEach
+    void afterEach() {
+        release.countDown();
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    @DisplayName("큐가 가득 차면 작업을 넘긴 스레드에서 실행하고 횟수를 기록한다.")
+    @Test
+    void caller_runs() {
+        executor = create("test", Backpressure.CALLER_RUNS);
+        executor.execute(this::await);
+        executor.execute(this::await);
+
+        AtomicReference<String> threadName = new AtomicReference<>();
+        executor.execute(() -> threadName.set(Thread.currentThread().getName()));
+
+        assertEquals(Thread.currentThread().getName(), threadName.get());
+        assertEquals(1, meterRegistry.get("executor.rejected").tag("name", "test").tag("outcome", "caller_runs").counter().count());
+        assertEquals(1, meterRegistry.get("executor.active").tag("name", "test").gauge().value());
+        assertEquals(1, meterRegistry.get("executor.queued").tag("name", "test").gauge().value());
+    }
+
+    @DisplayName("BLOCK 은 큐에 자리가 나기를 기다렸다가 끝내 자리가 없으면 거절한다.")
+    @Test
+    void block_then_reject() {
+        ExecutorPool pool = new ExecutorPool();
+        pool.setBlockTimeout(Duration.ofMillis(50));
+        appProperties.getExecutors().put("test", pool);
+
+        executor = create("test", Backpressure.BLOCK);
+        executor.execute(this::await);
+        executor.execute(this::await);
+
+        assertThrows(TaskRejectedException.class, () -> executor.execute(() -> {}));
+        assertEquals(1, meterRegistry.get("executor.rejected").tag("name", "test").tag("outcome", "blocked").counter().count());
+        assertEquals(1, meterRegistry.get("executor.rejected").tag("name", "test").tag("outcome", "rejected").counter().count());
+    }
+
+    @DisplayName("설정한 값이 풀별 기본값보다 우선한다.")
+    @Test
+    void configured_pool() {
+        ExecutorPool pool = new ExecutorPool();
+        pool.setMaxSize(3);
+        pool.setQueueCapacity(10);
+        appProperties.getExecutors().put("test", pool);
+
+        executor = create("test", Backpressure.CALLER_RUNS);
+
+        assertEquals(1, executor.getCorePoolSize());
+        assertEquals(3, executor.getMaxPoolSize());
+        assertEquals(10, executor.getThreadPoolExecutor().getQueue().remainingCapacity());
+    }
+
+    @DisplayName("가상 스레드 모드는 semaphore 로 동시에 실행되는 작업 수를 제한하고, 종료할 때 남은 작업을 마저 처리한다.")
+    @Test
+    void virtual_thread_permits() throws Exception {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        AtomicInteger completed = new AtomicInteger();
+        // 가상 스레드를 지원하지 않는 JVM 에서도 돌 수 있게 작업마다 스레드를 띄우는 풀로 대신한다.
+        Executor virtualExecutor = executorPoolFactory.createVirtual("test", Executors.newCachedThreadPool(), new Semaphore(2), Duration.ofSeconds(5));
+
+        for (int i = 0; i < 10; i++) {
+            virtualExecutor.execute(() -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                sleep(20);
+                running.decrementAndGet();
+                completed.incrementAndGet();
+            });
+        }
+        ((DisposableBean) virtualExecutor).destroy();
+
+        assertEquals(10, completed.get());
+        assertTrue(maxRunning.get() <= 2);
+        assertEquals(10, meterRegistry.get("executor.task.latency").tag("name", "test").timer().count());
+    }
+
+    private ThreadPoolTaskExecutor create(String name, Backpressure backpressure) {
+        ThreadPoolTaskExecutor executor = executorPoolFactory.create(name, 1, 1, 1, backpressure);
+        executor.initialize();
+        return executor;
+    }
+
+    private void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void await() {
+        try {
+            release.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.studyolle.infra.mail;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import com.studyolle.infra.config.AppProperties;
+import com.studyolle.infra.queue.ClaimStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import javax.mail.internet.MimeMessage;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class EmailQueueSenderTest {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    QueuedEmailRepository queuedEmailRepository = mock(QueuedEmailRepository.class);
+    PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    AppProperties appProperties = new AppProperties();
+
+    @BeforeEach
+    void beforeEach() {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        appProperties.setMailRatePerSecond(1000);
+    }
+
+    @DisplayName("대기열의 메일을 한 배치로 보내고 대기열에서 지운다.")
+    @Test
+    void send_queued_emails() throws Exception {
+        List<QueuedEmail> queuedEmails = List.of(queuedEmail(1L, "keesun@email.com"), queuedEmail(2L, "whiteship@email.com"));
+        when(queuedEmailRepository.findClaimable(any(), any())).thenReturn(queuedEmails);
+
+        emailQueueSender(ServerSetupTest.SMTP.getPort()).sendQueuedEmails();
+
+        MimeMessage[] receivedMessages = greenMail.getReceivedMessages();
+        assertEquals(2, receivedMessages.length);
+        assertEquals("스터디올래, 새소식이 있습니다.", receivedMessages[0].getSubject());
+        assertEquals(ClaimStatus.PROCESSING, queuedEmails.get(0).getStatus());
+        verify(queuedEmailRepository).deleteSent(List.of(1L, 2L));
+    }
+
+    @DisplayName("SMTP 서버에 연결하지 못하면 배치 전체를 나중에 다시 보낸다.")
+    @Test
+    void retry_when_smtp_is_down() {
+        QueuedEmail queuedEmail = queuedEmail(1L, "keesun@email.com");
+        when(queuedEmailRepository.findById(1L)).thenReturn(Optional.of(queuedEmail));
+
+        emailQueueSender(ServerSetupTest.SMTP.getPort() + 1).send(List.of(queuedEmail));
+
+        assertEquals(1, queuedEmail.getAttempts());
+        assertEquals(ClaimStatus.PENDING, queuedEmail.getStatus());
+        assertTrue(queuedEmail.getNextAttemptAt().isAfter(LocalDateTime.now()));
+        verify(queuedEmailRepository, never()).deleteSent(any());
+    }
+
+    private EmailQueueSender emailQueueSender(int port) {
+        JavaMailSenderImpl javaMailSender = new JavaMailSenderImpl();
+        javaMailSender.setHost("localhost");
+        javaMailSender.setPort(port);
+        return new EmailQueueSender(queuedEmailRepository, javaMailSender, transactionManager, appProperties);
+    }
+
+    private QueuedEmail queuedEmail(Long id, String to) {
+        EmailMessage emailMessage = EmailMessage.builder()
+                .to(to)
+                .subject("스터디올래, 새소식이 있습니다.")
+                .message("<p>새소식</p>")
+                .build();
+        QueuedEmail queuedEmail = QueuedEmail.of(emailMessage, LocalDateTime.now());
+        queuedEmail.setId(id);
+        return queuedEmail;
+    }
+}
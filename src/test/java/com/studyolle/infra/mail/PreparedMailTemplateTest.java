@@ -0,0 +1,63 @@
+package com.studyolle.infra.mail;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring5.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class PreparedMailTemplateTest {
+
+    TemplateEngine templateEngine;
+
+    @BeforeEach
+    void beforeEach() {
+        ClassLoaderTemplateResolver templateResolver = new ClassLoaderTemplateResolver();
+        templateResolver.setPrefix("templates/");
+        templateResolver.setSuffix(".html");
+        templateResolver.setTemplateMode(TemplateMode.HTML);
+        templateEngine = new SpringTemplateEngine();
+        templateEngine.setTemplateResolver(templateResolver);
+    }
+
+    @DisplayName("한 번 렌더링한 본문에 수신자 값을 끼워 넣은 결과는 템플릿을 매번 처리한 결과와 같다.")
+    @Test
+    void render_same_as_template_engine() {
+        PreparedMailTemplate mailTemplate = PreparedMailTemplate.prepare(templateEngine, "mail/simple-link", studyContext(), "nickname");
+
+        for (String nickname : new String[]{"keesun", "<b>'whiteship' & \"friends\"</b>"}) {
+            Context context = studyContext();
+            context.setVariable("nickname", nickname);
+
+            assertEquals(templateEngine.process("mail/simple-link", context), mailTemplate.render(Map.of("nickname", nickname)));
+        }
+    }
+
+    @DisplayName("수신자 값이 없으면 빈 문자열로 채우고 자리표시자를 남기지 않는다.")
+    @Test
+    void render_without_value() {
+        PreparedMailTemplate mailTemplate = PreparedMailTemplate.prepare(templateEngine, "mail/simple-link", studyContext(), "nickname");
+
+        String message = mailTemplate.render(Map.of());
+
+        assertEquals(templateEngine.process("mail/simple-link", studyContext()), message);
+        assertFalse(message.contains("__"));
+    }
+
+    private Context studyContext() {
+        Context context = new Context();
+        context.setVariable("link", "/study/spring");
+        context.setVariable("linkName", "스프링 <스터디>");
+        context.setVariable("message", "새로운 스터디가 생겼습니다.");
+        context.setVariable("host", "http://localhost:8080");
+        return context;
+    }
+}
@@ -0,0 +1,43 @@
+package com.studyolle.infra.queue;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ClaimableWorkTest {
+
+    @DisplayName("재시도 간격은 두 배씩 늘어나고 최대 간격을 넘지 않는다.")
+    @Test
+    void backoff() {
+        assertEquals(Duration.ofSeconds(2), ClaimableWork.backoff(1));
+        assertEquals(Duration.ofSeconds(8), ClaimableWork.backoff(3));
+        assertEquals(ClaimableWork.MAX_BACKOFF, ClaimableWork.backoff(30));
+    }
+
+    @DisplayName("실패하면 다음 시도 시각을 미루고, 최대 횟수를 넘기면 포기한다.")
+    @Test
+    void fail_and_give_up() {
+        LocalDateTime now = LocalDateTime.now();
+        TestWork work = new TestWork();
+        work.queue(now);
+        work.claim(now.plusMinutes(5));
+        assertEquals(ClaimStatus.PROCESSING, work.getStatus());
+
+        work.fail("error", now);
+        assertEquals(ClaimStatus.PENDING, work.getStatus());
+        assertEquals(now.plus(ClaimableWork.backoff(1)), work.getNextAttemptAt());
+        assertTrue(work.getLastError().contains("error"));
+
+        work.setAttempts(ClaimableWork.MAX_ATTEMPTS - 1);
+        work.fail("error", now);
+        assertEquals(ClaimStatus.FAILED, work.getStatus());
+    }
+
+    static class TestWork extends ClaimableWork {
+    }
+}
@@ -0,0 +1,85 @@
+package com.studyolle.modules.account;
+
+import com.studyolle.infra.cluster.ClusterBroadcaster;
+import com.studyolle.modules.tag.Tag;
+import com.studyolle.modules.zone.Zone;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+class AccountSubscriptionIndexTest {
+
+    AccountRepository accountRepository = mock(AccountRepository.class);
+    ClusterBroadcaster clusterBroadcaster = mock(ClusterBroadcaster.class);
+    AccountSubscriptionIndex accountSubscriptionIndex = new AccountSubscriptionIndex(accountRepository, clusterBroadcaster);
+
+    Tag spring = Tag.builder().id(1L).title("spring").build();
+    Tag jpa = Tag.builder().id(2L).title("jpa").build();
+    Zone seoul = Zone.builder().id(10L).city("Seoul").localNameOfCity("서울").build();
+    Zone busan = Zone.builder().id(11L).city("Busan").localNameOfCity("부산").build();
+
+    @BeforeEach
+    void beforeEach() {
+        when(accountRepository.findAllTagSubscriptions()).thenReturn(List.of(
+                new Object[]{100L, 1L}, new Object[]{101L, 2L}, new Object[]{102L, 1L}, new Object[]{102L, 2L}));
+        when(accountRepository.findAllZoneSubscriptions()).thenReturn(List.of(
+                new Object[]{100L, 10L}, new Object[]{101L, 10L}, new Object[]{102L, 11L}));
+        accountSubscriptionIndex.initIndex();
+    }
+
+    @DisplayName("관심 태그 중 하나 이상, 관심 지역 중 하나 이상이 겹치는 계정을 찾는다.")
+    @Test
+    void findAccountIds() {
+        assertArrayEquals(new long[]{100L}, accountSubscriptionIndex.findAccountIds(Set.of(spring), Set.of(seoul)).toArray());
+        assertArrayEquals(new long[]{100L, 101L}, accountSubscriptionIndex.findAccountIds(Set.of(spring, jpa), Set.of(seoul)).toArray());
+        assertArrayEquals(new long[]{100L, 101L, 102L}, accountSubscriptionIndex.findAccountIds(Set.of(spring, jpa), Set.of(seoul, busan)).toArray());
+        assertArrayEquals(new long[]{}, accountSubscriptionIndex.findAccountIds(Set.of(), Set.of(seoul)).toArray());
+    }
+
+    @DisplayName("계정의 관심 태그, 지역이 바뀌면 색인에 반영된다.")
+    @Test
+    void add_and_remove() {
+        Account account = new Account();
+        account.setId(103L);
+
+        accountSubscriptionIndex.addTag(account, jpa);
+        accountSubscriptionIndex.addZone(account, busan);
+        assertArrayEquals(new long[]{102L, 103L}, accountSubscriptionIndex.findAccountIds(Set.of(jpa), Set.of(busan)).toArray());
+
+        accountSubscriptionIndex.removeZone(account, busan);
+        accountSubscriptionIndex.removeTag(account, jpa);
+        assertArrayEquals(new long[]{102L}, accountSubscriptionIndex.findAccountIds(Set.of(jpa), Set.of(busan)).toArray());
+    }
+
+    @DisplayName("바뀐 관심사를 다른 노드에 알리고, 다른 노드에서 바뀐 관심사도 반영한다.")
+    @Test
+    void change_across_nodes() {
+        Account account = new Account();
+        account.setId(103L);
+        accountSubscriptionIndex.addTag(account, jpa);
+        verify(clusterBroadcaster).broadcast(argThat(message -> message instanceof AccountSubscriptionChangedMessage
+                && ((AccountSubscriptionChangedMessage) message).getTagId().equals(2L)));
+
+        accountSubscriptionIndex.handleAccountSubscriptionChanged(new AccountSubscriptionChangedMessage(104L, 2L, null, true));
+        accountSubscriptionIndex.handleAccountSubscriptionChanged(new AccountSubscriptionChangedMessage(104L, null, 11L, true));
+        accountSubscriptionIndex.handleAccountSubscriptionChanged(new AccountSubscriptionChangedMessage(102L, null, 11L, false));
+        assertArrayEquals(new long[]{104L}, accountSubscriptionIndex.findAccountIds(Set.of(jpa), Set.of(busan)).toArray());
+    }
+
+    @DisplayName("다시 만들면 DB 에 있는 관심사만 남는다.")
+    @Test
+    void rebuild() {
+        accountSubscriptionIndex.handleAccountSubscriptionChanged(new AccountSubscriptionChangedMessage(104L, 1L, null, true));
+        accountSubscriptionIndex.handleAccountSubscriptionChanged(new AccountSubscriptionChangedMessage(104L, null, 10L, true));
+
+        accountSubscriptionIndex.initIndex();
+        assertArrayEquals(new long[]{100L}, accountSubscriptionIndex.findAccountIds(Set.of(spring), Set.of(seoul)).toArray());
+    }
+}
@@ -6,20 +6,25 @@ import com.studyolle.modules.account.Account;
 import com.studyolle.modules.account.AccountFactory;
 import com.studyolle.modules.account.AccountRepository;
 import com.studyolle.modules.account.WithAccount;
+import com.studyolle.modules.event.form.EventForm;
+import com.studyolle.modules.outbox.OutboxEventRepository;
 import com.studyolle.modules.study.Study;
 import com.studyolle.modules.study.StudyFactory;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
 import org.springframework.test.web.servlet.MockMvc;
 
+import javax.persistence.EntityManager;
 import java.time.LocalDateTime;
 
+import static org.hamcrest.Matchers.nullValue;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.redirectedUrl;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @MockMvcTest
 class EventControllerTest extends AbstractContainerBaseTest {
@@ -27,9 +32,12 @@ class EventControllerTest extends AbstractContainerBaseTest {
     @Autowired MockMvc mockMvc;
     @Autowired StudyFactory studyFactory;
     @Autowired AccountFactory accountFactory;
+    @Autowired EventFactory eventFactory;
     @Autowired EventService eventService;
     @Autowired EnrollmentRepository enrollmentRepository;
     @Autowired AccountRepository accountRepository;
+    @Autowired EntityManager entityManager;
+    @Autowired OutboxEventRepository outboxEventRepository;
 
     @Test
     @DisplayName("선착순 모임에 참가 신청 - 자동 수락")
@@ -37,7 +45,7 @@ class EventControllerTest extends AbstractContainerBaseTest {
     void newEnrollment_to_FCFS_event_accepted() throws Exception {
         Account whiteship = accountFactory.createAccount("whiteship");
         Study study = studyFactory.createStudy("test-study", whiteship);
-        Event event = createEvent("test-event", EventType.FCFS, 2, study, whiteship);
+        Event event = eventFactory.createEvent("test-event", EventType.FCFS, 2, study, whiteship);
 
         mockMvc.perform(post("/study/" + study.getPath() + "/events/" + event.getId() + "/enroll")
                 .with(csrf()))
@@ -54,7 +62,7 @@ class EventControllerTest extends AbstractContainerBaseTest {
     void newEnrollment_to_FCFS_event_not_accepted() throws Exception {
         Account whiteship = accountFactory.createAccount("whiteship");
         Study study = studyFactory.createStudy("test-study", whiteship);
-        Event event = createEvent("test-event", EventType.FCFS, 2, study, whiteship);
+        Event event = eventFactory.createEvent("test-event", EventType.FCFS, 2, study, whiteship);
 
         Account may = accountFactory.createAccount("may");
         Account june = accountFactory.createAccount("june");
@@ -78,7 +86,7 @@ class EventControllerTest extends AbstractContainerBaseTest {
         Account whiteship = accountFactory.createAccount("whiteship");
         Account may = accountFactory.createAccount("may");
         Study study = studyFactory.createStudy("test-study", whiteship);
-        Event event = createEvent("test-event", EventType.FCFS, 2, study, whiteship);
+        Event event = eventFactory.createEvent("test-event", EventType.FCFS, 2, study, whiteship);
 
         eventService.newEnrollment(event, may);
         eventService.newEnrollment(event, keesun);
@@ -106,7 +114,7 @@ class EventControllerTest extends AbstractContainerBaseTest {
         Account whiteship = accountFactory.createAccount("whiteship");
         Account may = accountFactory.createAccount("may");
         Study study = studyFactory.createStudy("test-study", whiteship);
-        Event event = createEvent("test-event", EventType.FCFS, 2, study, whiteship);
+        Event event = eventFactory.createEvent("test-event", EventType.FCFS, 2, study, whiteship);
 
         eventService.newEnrollment(event, may);
         eventService.newEnrollment(event, whiteship);
@@ -126,6 +134,77 @@ class EventControllerTest extends AbstractContainerBaseTest {
         assertNull(enrollmentRepository.findByEventAndAccount(event, keesun));
     }
 
+    @Test
+    @DisplayName("참가 신청, 취소, 수락, 거절에 맞춰 모임의 확정 인원과 대기 인원을 유지한다.")
+    @WithAccount("keesun")
+    void numberOfEnrollments() throws Exception {
+        Account keesun = accountRepository.findByNickname("keesun");
+        Account whiteship = accountFactory.createAccount("whiteship");
+        Account may = accountFactory.createAccount("may");
+        Study study = studyFactory.createStudy("test-study", whiteship);
+        Event fcfs = eventFactory.createEvent("fcfs-event", EventType.FCFS, 1, study, whiteship);
+
+        eventService.newEnrollment(fcfs, may);
+        eventService.newEnrollment(fcfs, keesun);
+        assertNumberOfEnrollments(fcfs, 1, 1);
+
+        eventService.cancelEnrollment(fcfs, may);
+        assertNumberOfEnrollments(fcfs, 1, 0);
+        isAccepted(keesun, fcfs);
+
+        Event confirmative = eventFactory.createEvent("confirmative-event", EventType.CONFIRMATIVE, 1, study, whiteship);
+        eventService.newEnrollment(confirmative, may);
+        eventService.newEnrollment(confirmative, keesun);
+        assertNumberOfEnrollments(confirmative, 0, 2);
+
+        eventService.acceptEnrollment(confirmative, enrollmentRepository.findByEventAndAccount(confirmative, may));
+        eventService.acceptEnrollment(confirmative, enrollmentRepository.findByEventAndAccount(confirmative, keesun));
+        assertNumberOfEnrollments(confirmative, 1, 1);
+        isNotAccepted(keesun, confirmative);
+
+        eventService.rejectEnrollment(confirmative, enrollmentRepository.findByEventAndAccount(confirmative, may));
+        assertNumberOfEnrollments(confirmative, 0, 2);
+    }
+
+    @Test
+    @DisplayName("선착순 모임의 모집 인원을 늘리면 늘어난 자리만큼 먼저 신청한 대기자부터 확정한다.")
+    @WithAccount("keesun")
+    void updateEvent_accepts_waiting_enrollments_in_order() throws Exception {
+        Account keesun = accountRepository.findByNickname("keesun");
+        Account whiteship = accountFactory.createAccount("whiteship");
+        Account may = accountFactory.createAccount("may");
+        Account june = accountFactory.createAccount("june");
+        Study study = studyFactory.createStudy("test-study", whiteship);
+        Event event = eventFactory.createEvent("test-event", EventType.FCFS, 2, study, whiteship);
+
+        eventService.newEnrollment(event, whiteship);
+        eventService.newEnrollment(event, may);
+        eventService.newEnrollment(event, june);
+        eventService.newEnrollment(event, keesun);
+        assertNumberOfEnrollments(event, 2, 2);
+
+        EventForm eventForm = new EventForm();
+        eventForm.setTitle(event.getTitle());
+        eventForm.setEndEnrollmentDateTime(event.getEndEnrollmentDateTime());
+        eventForm.setStartDateTime(event.getStartDateTime());
+        eventForm.setEndDateTime(event.getEndDateTime());
+        eventForm.setLimitOfEnrollments(3);
+        eventService.updateEvent(event, eventForm);
+
+        assertNumberOfEnrollments(event, 3, 1);
+        isAccepted(june, event);
+        isNotAccepted(keesun, event);
+    }
+
+    private void assertNumberOfEnrollments(Event event, int accepted, int waiting) {
+        assertEquals(accepted, event.getNumberOfAcceptedEnrollments());
+        assertEquals(waiting, event.getNumberOfWaitingEnrollments());
+        Object[] stored = (Object[]) entityManager.createQuery("select e.numberOfAcceptedEnrollments, e.numberOfWaitingEnrollments from Event e where e.id = :id")
+                .setParameter("id", event.getId()).getSingleResult();
+        assertEquals(accepted, stored[0]);
+        assertEquals(waiting, stored[1]);
+    }
+
     private void isNotAccepted(Account whiteship, Event event) {
         assertFalse(enrollmentRepository.findByEventAndAccount(event, whiteship).isAccepted());
     }
@@ -134,13 +213,111 @@ class EventControllerTest extends AbstractContainerBaseTest {
         assertTrue(enrollmentRepository.findByEventAndAccount(event, account).isAccepted());
     }
 
+    @Test
+    @DisplayName("모임 화면에는 현재 사용자의 참가 신청만 따로 조회해서 넘긴다.")
+    @WithAccount("keesun")
+    void viewEvent_with_my_enrollment() throws Exception {
+        Account keesun = accountRepository.findByNickname("keesun");
+        Account whiteship = accountFactory.createAccount("whiteship");
+        Study study = studyFactory.createStudy("test-study", whiteship);
+        Event event = eventFactory.createEvent("test-event", EventType.FCFS, 2, study, whiteship);
+        Event otherEvent = eventFactory.createEvent("other-event", EventType.FCFS, 2, study, whiteship);
+        eventService.newEnrollment(event, whiteship);
+        eventService.newEnrollment(event, keesun);
+        eventService.newEnrollment(otherEvent, whiteship);
+
+        Enrollment enrollment = enrollmentRepository.findByEventAndAccount(event, keesun);
+        mockMvc.perform(get("/study/" + study.getPath() + "/events/" + event.getId()))
+                .andExpect(status().isOk())
+                .andExpect(model().attribute("myEnrollment", enrollment));
+        assertTrue(event.isDisenrollableFor(enrollment));
+        assertFalse(event.isEnrollableFor(enrollment));
+
+        mockMvc.perform(get("/study/" + study.getPath() + "/events/" + otherEvent.getId()))
+                .andExpect(status().isOk())
+                .andExpect(model().attribute("myEnrollment", nullValue()));
+        assertTrue(otherEvent.isEnrollableFor(null));
+    }
+
+    @Test
+    @DisplayName("모임 목록은 새 모임과 지난 모임을 따로 한 페이지씩 조회한다.")
+    @WithAccount("keesun")
+    void viewStudyEvents() throws Exception {
+        Account whiteship = accountFactory.createAccount("whiteship");
+        Study study = studyFactory.createStudy("test-study", whiteship);
+        for (int i = 0; i < 12; i++) {
+            eventFactory.createEvent("new-event-" + i, EventType.FCFS, 2, study, whiteship);
+        }
+        Event oldEvent = eventFactory.createEvent("old-event", EventType.FCFS, 2, study, whiteship);
+        oldEvent.setStartDateTime(LocalDateTime.now().minusDays(2));
+        oldEvent.setEndDateTime(LocalDateTime.now().minusDays(1));
+
+        Page<EventSummary> newEvents = (Page<EventSummary>) mockMvc.perform(get("/study/" + study.getPath() + "/events").param("newPage", "1"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("study/events"))
+                .andReturn().getModelAndView().getModel().get("newEvents");
+        assertEquals(12, newEvents.getTotalElements());
+        assertEquals(2, newEvents.getContent().size());
+
+        Page<EventSummary> oldEvents = (Page<EventSummary>) mockMvc.perform(get("/study/" + study.getPath() + "/events"))
+                .andReturn().getModelAndView().getModel().get("oldEvents");
+        assertEquals(1, oldEvents.getTotalElements());
+        assertEquals(oldEvent.getId(), oldEvents.getContent().get(0).getId());
+    }
+
+    @Test
+    @DisplayName("관리자는 고른 참가 신청들을 한 번에 수락하고 체크인한다. 수락 알림은 한 번에 모아서 남긴다.")
+    @WithAccount("keesun")
+    void changeEnrollments() throws Exception {
+        Account keesun = accountRepository.findByNickname("keesun");
+        Account whiteship = accountFactory.createAccount("whiteship");
+        Account may = accountFactory.createAccount("may");
+        Account june = accountFactory.createAccount("june");
+        Study study = studyFactory.createStudy("test-study", keesun);
+        Event event = eventFactory.createEvent("test-event", EventType.CONFIRMATIVE, 2, study, keesun);
+        eventService.newEnrollment(event, whiteship);
+        eventService.newEnrollment(event, may);
+        eventService.newEnrollment(event, june);
+        String[] enrollmentIds = {
+                enrollmentRepository.findByEventAndAccount(event, whiteship).getId().toString(),
+                enrollmentRepository.findByEventAndAccount(event, may).getId().toString(),
+                enrollmentRepository.findByEventAndAccount(event, june).getId().toString()};
+
+        mockMvc.perform(post("/study/" + study.getPath() + "/events/" + event.getId() + "/enrollments")
+                .param("operation", EnrollmentOperation.ACCEPT.name())
+                .param("enrollmentIds", enrollmentIds)
+                .with(csrf()))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/study/" + study.getPath() + "/events/" + event.getId()));
+
+        // 영속성 컨텍스트를 비우지 않으므로 모임은 그대로 관리 상태이다.
+        assertTrue(entityManager.contains(event));
+        isAccepted(whiteship, event);
+        isAccepted(may, event);
+        isNotAccepted(june, event);
+        assertNumberOfEnrollments(event, 2, 1);
+        assertEquals(1, outboxEventRepository.findAll().stream()
+                .filter(e -> e.getEventType().equals("EnrollmentResultsPayload"))
+                .count());
+
+        mockMvc.perform(post("/study/" + study.getPath() + "/events/" + event.getId() + "/enrollments")
+                .param("operation", EnrollmentOperation.CHECK_IN.name())
+                .param("enrollmentIds", enrollmentIds)
+                .with(csrf()))
+                .andExpect(status().is3xxRedirection());
+
+        assertTrue(enrollmentRepository.findByEventAndAccount(event, whiteship).isAttended());
+        assertTrue(enrollmentRepository.findByEventAndAccount(event, may).isAttended());
+        assertFalse(enrollmentRepository.findByEventAndAccount(event, june).isAttended());
+    }
+
     @Test
     @DisplayName("관리자 확인 모임에 참가 신청 - 대기중")
     @WithAccount("keesun")
     void newEnrollment_to_CONFIMATIVE_event_not_accepted() throws Exception {
         Account whiteship = accountFactory.createAccount("whiteship");
         Study study = studyFactory.createStudy("test-study", whiteship);
-        Event event = createEvent("test-event", EventType.CONFIRMATIVE, 2, study, whiteship);
+        Event event = eventFactory.createEvent("test-event", EventType.CONFIRMATIVE, 2, study, whiteship);
 
         mockMvc.perform(post("/study/" + study.getPath() + "/events/" + event.getId() + "/enroll")
                 .with(csrf()))
@@ -151,16 +328,4 @@ class EventControllerTest extends AbstractContainerBaseTest {
         isNotAccepted(keesun, event);
     }
 
-    private Event createEvent(String eventTitle, EventType eventType, int limit, Study study, Account account) {
-        Event event = new Event();
-        event.setEventType(eventType);
-        event.setLimitOfEnrollments(limit);
-        event.setTitle(eventTitle);
-        event.setCreatedDateTime(LocalDateTime.now());
-        event.setEndEnrollmentDateTime(LocalDateTime.now().plusDays(1));
-        event.setStartDateTime(LocalDateTime.now().plusDays(1).plusHours(5));
-        event.setEndDateTime(LocalDateTime.now().plusDays(1).plusHours(7));
-        return eventService.createEvent(event, study, account);
-    }
-
-}
\ No newline at end of file
+}
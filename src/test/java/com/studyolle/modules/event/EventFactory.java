@@ -0,0 +1,48 @@
+package com.studyolle.modules.event;
+
+import com.studyolle.modules.account.Account;
+import com.studyolle.modules.account.AccountRepository;
+import com.studyolle.modules.notification.NotificationRepository;
+import com.studyolle.modules.outbox.OutboxEventRepository;
+import com.studyolle.modules.study.Study;
+import com.studyolle.modules.study.StudyRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+@Component
+@RequiredArgsConstructor
+public class EventFactory {
+
+    @Autowired EventService eventService;
+    @Autowired EventRepository eventRepository;
+    @Autowired EnrollmentRepository enrollmentRepository;
+    @Autowired StudyRepository studyRepository;
+    @Autowired AccountRepository accountRepository;
+    @Autowired NotificationRepository notificationRepository;
+    @Autowired OutboxEventRepository outboxEventRepository;
+
+    public Event createEvent(String eventTitle, EventType eventType, int limit, Study study, Account account) {
+        Event event = new Event();
+        event.setEventType(eventType);
+        event.setLimitOfEnrollments(limit);
+        event.setTitle(eventTitle);
+        event.setCreatedDateTime(LocalDateTime.now());
+        event.setEndEnrollmentDateTime(LocalDateTime.now().plusDays(1));
+        event.setStartDateTime(LocalDateTime.now().plusDays(1).plusHours(5));
+        event.setEndDateTime(LocalDateTime.now().plusDays(1).plusHours(7));
+        return eventService.createEvent(event, study, account);
+    }
+
+    // @Transactional 없이 커밋하면서 실행한 테스트가 남긴 모임, 스터디, 계정과 후속 처리 요청을 지운다.
+    public void deleteAll() {
+        outboxEventRepository.deleteAllInBatch();
+        notificationRepository.deleteAllInBatch();
+        enrollmentRepository.deleteAllInBatch();
+        eventRepository.deleteAllInBatch();
+        studyRepository.deleteAll();
+        accountRepository.deleteAll();
+    }
+}
@@ -0,0 +1,83 @@
+package com.studyolle.modules.event;
+
+import com.studyolle.infra.AbstractContainerBaseTest;
+import com.studyolle.modules.account.Account;
+import com.studyolle.modules.account.AccountFactory;
+import com.studyolle.modules.account.AccountRepository;
+import com.studyolle.modules.study.Study;
+import com.studyolle.modules.study.StudyFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// 요청마다 트랜잭션이 따로 커밋되어야 하므로 @Transactional 없이 실행하고 끝나면 직접 지운다.
+@ActiveProfiles("test")
+@SpringBootTest
+class EventServiceConcurrencyTest extends AbstractContainerBaseTest {
+
+    private static final int NUMBER_OF_REQUESTS = 300;
+    private static final int LIMIT_OF_ENROLLMENTS = 50;
+
+    @Autowired EventService eventService;
+    @Autowired EventRepository eventRepository;
+    @Autowired EnrollmentRepository enrollmentRepository;
+    @Autowired AccountRepository accountRepository;
+    @Autowired AccountFactory accountFactory;
+    @Autowired StudyFactory studyFactory;
+    @Autowired EventFactory eventFactory;
+    @Autowired TransactionTemplate transactionTemplate;
+
+    @AfterEach
+    void afterEach() {
+        eventFactory.deleteAll();
+    }
+
+    @Test
+    @DisplayName("선착순 모임에 동시에 수백 명이 참가 신청해도 모집 인원만큼만 확정된다.")
+    void newEnrollment_concurrently_to_FCFS_event() throws Exception {
+        Account manager = accountFactory.createAccount("whiteship");
+        Long eventId = transactionTemplate.execute(status -> {
+            Study study = studyFactory.createStudy("load-study", accountRepository.findById(manager.getId()).orElseThrow());
+            return eventFactory.createEvent("load-event", EventType.FCFS, LIMIT_OF_ENROLLMENTS, study, manager).getId();
+        });
+
+        List<Long> accountIds = new ArrayList<>();
+        for (int i = 0; i < NUMBER_OF_REQUESTS; i++) {
+            accountIds.add(accountFactory.createAccount("user" + i).getId());
+        }
+
+        ExecutorService executorService = Executors.newFixedThreadPool(64);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (Long accountId : accountIds) {
+            futures.add(executorService.submit(() -> {
+                start.await();
+                transactionTemplate.executeWithoutResult(status -> eventService.newEnrollment(
+                        eventRepository.findById(eventId).orElseThrow(), accountRepository.findById(accountId).orElseThrow()));
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(1, TimeUnit.MINUTES);
+        }
+        executorService.shutdown();
+
+        Event event = eventRepository.findById(eventId).orElseThrow();
+        long accepted = enrollmentRepository.findAll().stream().filter(Enrollment::isAccepted).count();
+        assertEquals(NUMBER_OF_REQUESTS, enrollmentRepository.count());
+        assertEquals(LIMIT_OF_ENROLLMENTS, accepted);
+        assertEquals(LIMIT_OF_ENROLLMENTS, event.getNumberOfAcceptedEnrollments());
+        assertEquals(NUMBER_OF_REQUESTS - LIMIT_OF_ENROLLMENTS, event.getNumberOfWaitingEnrollments());
+    }
+}
@@ -0,0 +1,90 @@
+package com.studyolle.modules.main;
+
+import com.studyolle.infra.AbstractContainerBaseTest;
+import com.studyolle.modules.account.Account;
+import com.studyolle.modules.account.AccountFactory;
+import com.studyolle.modules.account.AccountRepository;
+import com.studyolle.modules.account.UserAccount;
+import com.studyolle.modules.event.EnrollmentOperation;
+import com.studyolle.modules.event.EnrollmentRepository;
+import com.studyolle.modules.event.Event;
+import com.studyolle.modules.event.EventFactory;
+import com.studyolle.modules.event.EventService;
+import com.studyolle.modules.event.EventType;
+import com.studyolle.modules.study.Study;
+import com.studyolle.modules.study.StudyFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// 홈 화면 캐시는 커밋된 뒤에 비워지므로 @Transactional 없이 실행하고 끝나면 직접 지운다.
+@ActiveProfiles("test")
+@SpringBootTest
+@AutoConfigureMockMvc
+class HomeFeedEventListenerTest extends AbstractContainerBaseTest {
+
+    @Autowired MockMvc mockMvc;
+    @Autowired HomeFeedService homeFeedService;
+    @Autowired EventService eventService;
+    @Autowired EnrollmentRepository enrollmentRepository;
+    @Autowired AccountRepository accountRepository;
+    @Autowired AccountFactory accountFactory;
+    @Autowired StudyFactory studyFactory;
+    @Autowired EventFactory eventFactory;
+    @Autowired TransactionTemplate transactionTemplate;
+
+    @AfterEach
+    void afterEach() {
+        eventFactory.deleteAll();
+    }
+
+    @Test
+    @DisplayName("참가 신청을 한 번에 수락하면 수락된 계정들의 홈 화면 캐시를 비운다.")
+    void evict_after_changeEnrollments() throws Exception {
+        Account manager = accountFactory.createAccount("whiteship");
+        manager.setPassword("12345678");
+        accountRepository.save(manager);
+        Account may = createAccountWithoutNotification("may");
+        Account june = createAccountWithoutNotification("june");
+        Event event = transactionTemplate.execute(status -> {
+            Study study = studyFactory.createStudy("test-study", accountRepository.findById(manager.getId()).orElseThrow());
+            Event newEvent = eventFactory.createEvent("test-event", EventType.CONFIRMATIVE, 2, study, manager);
+            eventService.newEnrollment(newEvent, may);
+            eventService.newEnrollment(newEvent, june);
+            return newEvent;
+        });
+        assertTrue(homeFeedService.getHomeFeed(may).getEnrollmentList().isEmpty());
+        assertTrue(homeFeedService.getHomeFeed(june).getEnrollmentList().isEmpty());
+
+        mockMvc.perform(post("/study/test-study/events/" + event.getId() + "/enrollments")
+                .param("operation", EnrollmentOperation.ACCEPT.name())
+                .param("enrollmentIds",
+                        enrollmentRepository.findByEventAndAccount(event, may).getId().toString(),
+                        enrollmentRepository.findByEventAndAccount(event, june).getId().toString())
+                .with(user(new UserAccount(manager)))
+                .with(csrf()))
+                .andExpect(status().is3xxRedirection());
+
+        assertEquals(1, homeFeedService.getHomeFeed(may).getEnrollmentList().size());
+        assertEquals(1, homeFeedService.getHomeFeed(june).getEnrollmentList().size());
+    }
+
+    private Account createAccountWithoutNotification(String nickname) {
+        Account account = accountFactory.createAccount(nickname);
+        account.setStudyEnrollmentResultByWeb(false);
+        return accountRepository.save(account);
+    }
+}
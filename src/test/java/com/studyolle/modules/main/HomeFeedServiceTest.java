@@ -0,0 +1,108 @@
+package com.studyolle.modules.main;
+
+import com.studyolle.infra.config.AppProperties;
+import com.studyolle.modules.account.Account;
+import com.studyolle.modules.account.AccountRepository;
+import com.studyolle.modules.event.EnrollmentRepository;
+import com.studyolle.modules.study.Study;
+import com.studyolle.modules.study.StudyRecommendationIndex;
+import com.studyolle.modules.study.StudyRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class HomeFeedServiceTest {
+
+    AccountRepository accountRepository = mock(AccountRepository.class);
+    EnrollmentRepository enrollmentRepository = mock(EnrollmentRepository.class);
+    StudyRepository studyRepository = mock(StudyRepository.class);
+    AppProperties appProperties = new AppProperties();
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    HomeFeedService homeFeedService;
+    Account account;
+
+    @BeforeEach
+    void beforeEach() {
+        homeFeedService = new HomeFeedService(accountRepository, enrollmentRepository, studyRepository, mock(StudyRecommendationIndex.class), appProperties,
+                mock(PlatformTransactionManager.class), executor, meterRegistry);
+        account = new Account();
+        account.setId(1L);
+        when(accountRepository.findAccountWithTagsAndZonesById(1L)).thenReturn(account);
+    }
+
+    @AfterEach
+    void afterEach() {
+        executor.shutdownNow();
+    }
+
+    @DisplayName("캐시된 홈 화면 데이터는 DB 를 다시 조회하지 않는다.")
+    @Test
+    void cached_home_feed() {
+        HomeFeed homeFeed = homeFeedService.getHomeFeed(account);
+
+        assertSame(homeFeed, homeFeedService.getHomeFeed(account));
+        verify(accountRepository, times(1)).findAccountWithTagsAndZonesById(1L);
+        verify(studyRepository, times(1)).findFirst5ByMembersContainingAndClosedOrderByPublishedDateTimeDesc(account, false);
+    }
+
+    @DisplayName("캐시를 비우거나 TTL 이 지나면 다시 조회한다.")
+    @Test
+    void evict_and_expire() {
+        appProperties.setHomeFeedParallel(false);
+        HomeFeed homeFeed = homeFeedService.getHomeFeed(account);
+        homeFeedService.evict(1L);
+        HomeFeed reloaded = homeFeedService.getHomeFeed(account);
+        assertNotSame(homeFeed, reloaded);
+
+        homeFeedService.evictAll();
+        appProperties.setHomeFeedTtl(Duration.ZERO);
+        homeFeedService.getHomeFeed(account);
+        homeFeedService.getHomeFeed(account);
+
+        verify(accountRepository, times(4)).findAccountWithTagsAndZonesById(1L);
+    }
+
+    @DisplayName("동시 조회 모드에서도 같은 결과를 만들고 쿼리별 실행 시간을 기록한다.")
+    @Test
+    void parallel_home_feed() {
+        when(studyRepository.findFirst5ByManagersContainingAndClosedOrderByPublishedDateTimeDesc(account, false)).thenReturn(List.of(new Study()));
+
+        HomeFeed homeFeed = homeFeedService.getHomeFeed(account);
+
+        assertTrue(homeFeed.isComplete());
+        assertSame(account, homeFeed.getAccount());
+        assertEquals(1, homeFeed.getStudyManagerOf().size());
+        assertEquals(1, meterRegistry.get("home.feed.query").tag("query", "studyList").timer().count());
+    }
+
+    @DisplayName("제한 시간을 넘긴 쿼리는 빈 목록으로 보여주고 캐시하지 않는다.")
+    @Test
+    void parallel_home_feed_timeout() {
+        appProperties.setHomeFeedQueryTimeout(Duration.ofMillis(200));
+        when(studyRepository.findFirst5ByMembersContainingAndClosedOrderByPublishedDateTimeDesc(account, false)).thenAnswer(invocation -> {
+            Thread.sleep(2000);
+            return List.of(new Study());
+        });
+
+        HomeFeed homeFeed = homeFeedService.getHomeFeed(account);
+        assertFalse(homeFeed.isComplete());
+        assertTrue(homeFeed.getStudyMemberOf().isEmpty());
+        assertEquals(1, meterRegistry.get("home.feed.query.timeout").tag("query", "studyMemberOf").counter().count());
+
+        homeFeedService.getHomeFeed(account);
+        verify(accountRepository, times(2)).findAccountWithTagsAndZonesById(1L);
+    }
+}
@@ -0,0 +1,89 @@
+package com.studyolle.modules.notification;
+
+import com.studyolle.infra.AbstractContainerBaseTest;
+import com.studyolle.infra.MockMvcTest;
+import com.studyolle.modules.account.Account;
+import com.studyolle.modules.account.AccountRepository;
+import com.studyolle.modules.account.WithAccount;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@MockMvcTest
+class NotificationControllerTest extends AbstractContainerBaseTest {
+
+    @Autowired MockMvc mockMvc;
+    @Autowired AccountRepository accountRepository;
+    @Autowired NotificationRepository notificationRepository;
+
+    @Test
+    @WithAccount("keesun")
+    @DisplayName("읽지 않은 알림은 한 페이지씩 보여주고, 보여준 알림만 읽음 처리한다.")
+    void getNotifications_marks_page_as_read() throws Exception {
+        Account keesun = accountRepository.findByNickname("keesun");
+        for (int i = 0; i < 25; i++) {
+            createNotification(keesun, i % 2 == 0 ? NotificationType.STUDY_CREATED : NotificationType.STUDY_UPDATED, false, i);
+        }
+
+        MvcResult result = mockMvc.perform(get("/notifications"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("notification/list"))
+                .andExpect(model().attribute("numberOfNotChecked", 25L))
+                .andExpect(model().attribute("numberOfNewStudyNotifications", 13L))
+                .andExpect(model().attribute("numberOfWatchingStudyNotifications", 12L))
+                .andReturn();
+
+        List<?> notifications = (List<?>) result.getModelAndView().getModel().get("notifications");
+        assertEquals(20, notifications.size());
+        assertEquals(5, notificationRepository.countByAccountAndChecked(keesun, false));
+        assertEquals(20, notificationRepository.countByAccountAndChecked(keesun, true));
+    }
+
+    @Test
+    @WithAccount("keesun")
+    @DisplayName("읽은 알림은 커서로 다음 페이지를 이어서 본다.")
+    void getOldNotifications_with_cursor() throws Exception {
+        Account keesun = accountRepository.findByNickname("keesun");
+        for (int i = 0; i < 25; i++) {
+            createNotification(keesun, NotificationType.EVENT_ENROLLMENT, true, i);
+        }
+
+        MvcResult firstPage = mockMvc.perform(get("/notifications/old"))
+                .andExpect(status().isOk())
+                .andExpect(model().attribute("numberOfChecked", 25L))
+                .andExpect(model().attribute("numberOfEventEnrollmentNotifications", 25L))
+                .andReturn();
+        NotificationCursorPage notificationPage = (NotificationCursorPage) firstPage.getModelAndView().getModel().get("notificationPage");
+        assertEquals(20, notificationPage.getContent().size());
+        assertTrue(notificationPage.hasNext());
+
+        MvcResult secondPage = mockMvc.perform(get("/notifications/old").param("cursor", notificationPage.getNextCursor()))
+                .andExpect(status().isOk())
+                .andReturn();
+        NotificationCursorPage nextPage = (NotificationCursorPage) secondPage.getModelAndView().getModel().get("notificationPage");
+        assertEquals(5, nextPage.getContent().size());
+        assertFalse(nextPage.hasNext());
+        assertTrue(nextPage.getContent().stream().noneMatch(notificationPage.getContent()::contains));
+    }
+
+    private void createNotification(Account account, NotificationType notificationType, boolean checked, int minutesAgo) {
+        Notification notification = new Notification();
+        notification.setTitle("스터디");
+        notification.setLink("/study/test");
+        notification.setMessage("알림");
+        notification.setChecked(checked);
+        notification.setAccount(account);
+        notification.setNotificationType(notificationType);
+        notification.setCreatedLocalDateTime(LocalDateTime.now().minusMinutes(minutesAgo));
+        notificationRepository.save(notification);
+    }
+}
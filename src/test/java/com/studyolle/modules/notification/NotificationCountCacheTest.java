@@ -0,0 +1,118 @@
+package com.studyolle.modules.notification;
+
+import com.studyolle.infra.cluster.ClusterBroadcaster;
+import com.studyolle.infra.config.AppProperties;
+import com.studyolle.modules.account.Account;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class NotificationCountCacheTest {
+
+    NotificationRepository notificationRepository = mock(NotificationRepository.class);
+    AppProperties appProperties = new AppProperties();
+    ClusterBroadcaster clusterBroadcaster = mock(ClusterBroadcaster.class);
+    NotificationCountCache notificationCountCache = new NotificationCountCache(notificationRepository, appProperties, clusterBroadcaster);
+    Account account = new Account();
+
+    @BeforeEach
+    void beforeEach() {
+        account.setId(1L);
+        when(notificationRepository.countByAccountIdAndChecked(1L, false)).thenReturn(3L);
+    }
+
+    @DisplayName("유지 시간 동안은 DB 에서 다시 세지 않는다.")
+    @Test
+    void count_once() {
+        assertEquals(3, notificationCountCache.getUnreadCount(account));
+        assertEquals(3, notificationCountCache.getUnreadCount(account));
+        verify(notificationRepository, times(1)).countByAccountIdAndChecked(1L, false);
+    }
+
+    @DisplayName("유지 시간이 지나면 다시 센다.")
+    @Test
+    void count_again_after_ttl() {
+        appProperties.setNotificationCountTtl(Duration.ZERO);
+
+        notificationCountCache.getUnreadCount(account);
+        notificationCountCache.getUnreadCount(account);
+        verify(notificationRepository, times(2)).countByAccountIdAndChecked(1L, false);
+    }
+
+    @DisplayName("알림이 생기거나 읽히면 캐시를 비우고 다시 센다.")
+    @Test
+    void evict() {
+        notificationCountCache.getUnreadCount(account);
+        when(notificationRepository.countByAccountIdAndChecked(1L, false)).thenReturn(4L);
+
+        notificationCountCache.evict(1L);
+        assertEquals(4, notificationCountCache.getUnreadCount(account));
+
+        notificationCountCache.evictAll();
+        assertEquals(4, notificationCountCache.getUnreadCount(account));
+        verify(notificationRepository, times(3)).countByAccountIdAndChecked(1L, false);
+    }
+
+    @DisplayName("여러 계정을 한꺼번에 비울 때는 커밋 콜백을 하나만 걸고, 커밋된 뒤에 비운다.")
+    @Test
+    void evict_accounts_after_commit() {
+        notificationCountCache.getUnreadCount(account);
+        when(notificationRepository.countByAccountIdAndChecked(1L, false)).thenReturn(4L);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            notificationCountCache.evict(List.of(1L, 2L, 3L));
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            assertEquals(1, synchronizations.size());
+            assertEquals(3, notificationCountCache.getUnreadCount(account));
+
+            synchronizations.forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertEquals(4, notificationCountCache.getUnreadCount(account));
+    }
+
+    @DisplayName("다른 노드에도 비우라고 알리고, 다른 노드에서 바뀐 개수는 메시지를 받으면 비운다.")
+    @Test
+    void evict_across_nodes() {
+        notificationCountCache.evict(List.of(1L, 2L));
+        verify(clusterBroadcaster).broadcast(eq(List.of(1L, 2L)), any());
+
+        notificationCountCache.getUnreadCount(account);
+        when(notificationRepository.countByAccountIdAndChecked(1L, false)).thenReturn(4L);
+
+        notificationCountCache.handleNotificationCountChanged(new NotificationCountChangedMessage(List.of(1L), false));
+        assertEquals(4, notificationCountCache.getUnreadCount(account));
+
+        notificationCountCache.handleClusterReset();
+        assertEquals(4, notificationCountCache.getUnreadCount(account));
+        verify(notificationRepository, times(3)).countByAccountIdAndChecked(1L, false);
+    }
+
+    @DisplayName("세는 도중에 개수가 바뀌면 센 값을 캐시하지 않는다.")
+    @Test
+    void do_not_cache_count_loaded_during_change() {
+        when(notificationRepository.countByAccountIdAndChecked(1L, false)).thenAnswer(invocation -> {
+            // 커밋 전 값을 세는 사이에 다른 트랜잭션이 알림을 만들고 커밋한 경우
+            notificationCountCache.evict(1L);
+            return 3L;
+        }).thenReturn(4L);
+
+        assertEquals(3, notificationCountCache.getUnreadCount(account));
+        assertEquals(4, notificationCountCache.getUnreadCount(account));
+        assertEquals(4, notificationCountCache.getUnreadCount(account));
+        verify(notificationRepository, times(2)).countByAccountIdAndChecked(1L, false);
+    }
+}
@@ -0,0 +1,32 @@
+package com.studyolle.modules.notification;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NotificationCursorTest {
+
+    @DisplayName("마지막으로 보여준 알림의 생성 시각과 id 를 커서로 주고받는다.")
+    @Test
+    void encode_and_decode() {
+        Notification notification = new Notification();
+        notification.setId(7L);
+        notification.setCreatedLocalDateTime(LocalDateTime.of(2021, 8, 1, 10, 30, 15, 123000));
+
+        NotificationCursor cursor = NotificationCursor.decode(NotificationCursor.after(notification).encode());
+
+        assertEquals(7L, cursor.getId());
+        assertEquals(notification.getCreatedLocalDateTime(), cursor.getCreatedLocalDateTime());
+    }
+
+    @DisplayName("비어 있거나 잘못된 커서는 첫 페이지로 취급한다.")
+    @Test
+    void decode_invalid() {
+        assertTrue(NotificationCursor.decode(null).isFirst());
+        assertTrue(NotificationCursor.decode("not-a-cursor").isFirst());
+    }
+}
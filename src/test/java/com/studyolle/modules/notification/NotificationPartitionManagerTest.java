@@ -0,0 +1,37 @@
+package com.studyolle.modules.notification;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class NotificationPartitionManagerTest {
+
+    @DisplayName("월 파티션 이름은 테이블 이름에 연월을 붙인다.")
+    @Test
+    void partitionName() {
+        assertEquals("notification_2021_08", NotificationPartitionManager.partitionName(YearMonth.of(2021, 8)));
+    }
+
+    @DisplayName("보관 기준 시각은 이번 달에서 보관 개월 수만큼 거슬러 올라간 달의 1일이다.")
+    @Test
+    void retentionCutoff() {
+        assertEquals(LocalDateTime.of(2021, 2, 1, 0, 0), NotificationPartitionManager.retentionCutoff(YearMonth.of(2021, 8), 6));
+        assertEquals(LocalDateTime.of(2020, 11, 1, 0, 0), NotificationPartitionManager.retentionCutoff(YearMonth.of(2021, 2), 3));
+    }
+
+    @DisplayName("파티션 범위 식에서 상한을 읽고, DEFAULT 파티션이나 MAXVALUE 는 상한이 없다.")
+    @Test
+    void upperBoundOf() {
+        assertEquals(LocalDateTime.of(2021, 9, 1, 0, 0),
+                NotificationPartitionManager.upperBoundOf("FOR VALUES FROM ('2021-08-01 00:00:00') TO ('2021-09-01 00:00:00')"));
+        assertEquals(LocalDateTime.of(2021, 9, 1, 0, 0),
+                NotificationPartitionManager.upperBoundOf("FOR VALUES FROM (MINVALUE) TO ('2021-09-01 00:00:00')"));
+        assertNull(NotificationPartitionManager.upperBoundOf("DEFAULT"));
+        assertNull(NotificationPartitionManager.upperBoundOf("FOR VALUES FROM ('2021-08-01 00:00:00') TO (MAXVALUE)"));
+    }
+}
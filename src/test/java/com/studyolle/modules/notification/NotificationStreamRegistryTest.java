@@ -0,0 +1,79 @@
+package com.studyolle.modules.notification;
+
+import com.studyolle.infra.cluster.ClusterBroadcaster;
+import com.studyolle.modules.account.Account;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class NotificationStreamRegistryTest {
+
+    NotificationCountCache notificationCountCache = mock(NotificationCountCache.class);
+    ClusterBroadcaster clusterBroadcaster = mock(ClusterBroadcaster.class);
+    NotificationStreamRegistry notificationStreamRegistry = new NotificationStreamRegistry(notificationCountCache, clusterBroadcaster);
+    Account account = new Account();
+
+    @BeforeEach
+    void beforeEach() {
+        account.setId(1L);
+        notificationStreamRegistry.startHeartbeat();
+    }
+
+    @AfterEach
+    void afterEach() {
+        notificationStreamRegistry.shutdown();
+    }
+
+    @DisplayName("계정별 연결 수를 제한하고 가장 오래된 연결부터 끊는다.")
+    @Test
+    void limit_subscriptions_per_account() {
+        for (int i = 0; i < NotificationStreamRegistry.MAX_SUBSCRIPTIONS_PER_ACCOUNT + 2; i++) {
+            notificationStreamRegistry.subscribe(account);
+        }
+
+        assertEquals(NotificationStreamRegistry.MAX_SUBSCRIPTIONS_PER_ACCOUNT, notificationStreamRegistry.getSubscriptionCount(1L));
+    }
+
+    @DisplayName("새 알림은 다른 노드에 모두 알리고, 이 노드에서는 연결된 계정에만 보낸다.")
+    @Test
+    void publish_to_subscribed_account() {
+        notificationStreamRegistry.subscribe(account);
+
+        Account other = new Account();
+        other.setId(2L);
+        notificationStreamRegistry.publish(List.of(notificationOf(account), notificationOf(other)));
+
+        verify(clusterBroadcaster).broadcast(eq(List.of(1L, 2L)), any());
+        verify(notificationCountCache, timeout(1000).times(2)).getUnreadCount(1L);
+        verify(notificationCountCache, never()).getUnreadCount(2L);
+        assertEquals(1, notificationStreamRegistry.getSubscriptionCount(1L));
+    }
+
+    @DisplayName("다른 노드에서 만든 알림도 이 노드에 연결된 계정에 보낸다.")
+    @Test
+    void push_notification_from_other_node() {
+        notificationStreamRegistry.subscribe(account);
+
+        notificationStreamRegistry.handleNotificationPush(new NotificationPushMessage(List.of(1L, 2L), "스터디", "새 소식", "/study/test"));
+
+        verify(notificationCountCache, timeout(1000).times(2)).getUnreadCount(1L);
+        verify(notificationCountCache, never()).getUnreadCount(2L);
+    }
+
+    private Notification notificationOf(Account account) {
+        Notification notification = new Notification();
+        notification.setAccount(account);
+        notification.setTitle("스터디");
+        notification.setMessage("새 소식");
+        notification.setLink("/study/test");
+        return notification;
+    }
+}
@@ -0,0 +1,128 @@
+package com.studyolle.modules.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.studyolle.infra.queue.ClaimStatus;
+import com.studyolle.infra.queue.ClaimableWork;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class OutboxDispatcherTest {
+
+    OutboxEventRepository outboxEventRepository = mock(OutboxEventRepository.class);
+    PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    List<String> handledMessages = new ArrayList<>();
+    List<List<String>> handledBatches = new ArrayList<>();
+    OutboxDispatcher outboxDispatcher;
+
+    @BeforeEach
+    void beforeEach() {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        outboxDispatcher = new OutboxDispatcher(outboxEventRepository, new ObjectMapper(), transactionManager, Map.of("testExecutor", Runnable::run), List.of(new TestHandler()));
+    }
+
+    @DisplayName("점유한 요청을 처리하고 outbox 에서 지운다.")
+    @Test
+    void dispatch() {
+        OutboxEvent first = outboxEvent(1L, "hello");
+        OutboxEvent second = outboxEvent(2L, "world");
+        when(outboxEventRepository.findClaimable(any(), any())).thenReturn(List.of(first, second));
+
+        outboxDispatcher.dispatch();
+
+        assertEquals(List.of("hello", "world"), handledMessages);
+        assertEquals(ClaimStatus.PROCESSING, first.getStatus());
+        verify(outboxEventRepository).deleteClaimed(List.of(1L));
+        verify(outboxEventRepository).deleteClaimed(List.of(2L));
+    }
+
+    @DisplayName("coalesceKey 가 같은 요청은 아직 점유되지 않은 요청까지 모아서 핸들러에 한 번에 넘긴다.")
+    @Test
+    void dispatch_coalesced() {
+        OutboxEvent first = outboxEvent(1L, "hello");
+        OutboxEvent second = outboxEvent(2L, "world");
+        OutboxEvent pending = outboxEvent(3L, "again");
+        List.of(first, second, pending).forEach(outboxEvent -> outboxEvent.setCoalesceKey("TestPayload:1"));
+        when(outboxEventRepository.findClaimable(any(), any())).thenReturn(List.of(first, second));
+        when(outboxEventRepository.findPendingByCoalesceKey("TestPayload:1")).thenReturn(List.of(pending));
+
+        outboxDispatcher.dispatch();
+
+        assertEquals(List.of(List.of("hello", "world", "again")), handledBatches);
+        verify(outboxEventRepository).deleteClaimed(List.of(1L, 2L, 3L));
+    }
+
+    @DisplayName("처리에 실패하면 간격을 늘려가며 다시 시도하고, 최대 횟수를 넘기면 포기한다.")
+    @Test
+    void retry_and_give_up() {
+        OutboxEvent failing = outboxEvent(1L, "fail");
+        when(outboxEventRepository.findById(1L)).thenReturn(Optional.of(failing));
+
+        outboxDispatcher.process(List.of(failing));
+
+        assertEquals(1, failing.getAttempts());
+        assertEquals(ClaimStatus.PENDING, failing.getStatus());
+        assertTrue(failing.getNextAttemptAt().isAfter(LocalDateTime.now()));
+
+        failing.setAttempts(ClaimableWork.MAX_ATTEMPTS - 1);
+        outboxDispatcher.process(List.of(failing));
+
+        assertEquals(ClaimStatus.FAILED, failing.getStatus());
+        assertTrue(handledMessages.isEmpty());
+    }
+
+    private OutboxEvent outboxEvent(Long id, String message) {
+        OutboxEvent outboxEvent = OutboxEvent.of("TestPayload", "{\"message\":\"" + message + "\"}", LocalDateTime.now());
+        outboxEvent.setId(id);
+        return outboxEvent;
+    }
+
+    class TestHandler implements OutboxHandler<TestPayload> {
+
+        @Override
+        public Class<TestPayload> getPayloadType() {
+            return TestPayload.class;
+        }
+
+        @Override
+        public String getExecutorName() {
+            return "testExecutor";
+        }
+
+        @Override
+        public void handle(TestPayload payload) {
+            if (payload.getMessage().equals("fail")) {
+                throw new IllegalStateException("fail");
+            }
+            handledMessages.add(payload.getMessage());
+        }
+
+        @Override
+        public void handleAll(List<TestPayload> payloads) {
+            payloads.forEach(this::handle);
+            handledBatches.add(payloads.stream().map(TestPayload::getMessage).collect(Collectors.toList()));
+        }
+    }
+
+    static class TestPayload {
+
+        private String message;
+
+        public String getMessage() {
+            return message;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.studyolle.modules.study;
+
+import com.studyolle.modules.tag.Tag;
+import com.studyolle.modules.zone.Zone;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+class InMemoryStudySearchIndexTest {
+
+    InMemoryStudySearchIndex studySearchIndex;
+    StudySearchCursor byPublishedDateTime = StudySearchCursor.first(StudySearchCursor.PUBLISHED_DATE_TIME);
+
+    @BeforeEach
+    void beforeEach() {
+        studySearchIndex = new InMemoryStudySearchIndex(mock(StudyRepository.class));
+    }
+
+    @DisplayName("제목, 태그, 지역 이름 중 하나라도 키워드를 포함하면 검색된다.")
+    @Test
+    void search_by_title_tag_and_zone() {
+        studySearchIndex.index(createStudy(1L, "Spring 스터디", "JPA", "서울"));
+        studySearchIndex.index(createStudy(2L, "알고리즘 스터디", "java", "부산"));
+        studySearchIndex.index(createStudy(3L, "독서 모임", "book", "서울"));
+
+        assertEquals(List.of(1L), studySearchIndex.search("spring", byPublishedDateTime, 9));
+        assertEquals(List.of(2L), studySearchIndex.search("JAVA", byPublishedDateTime, 9));
+        assertEquals(List.of(3L, 1L), studySearchIndex.search("서울", byPublishedDateTime, 9));
+        assertEquals(List.of(2L, 1L), studySearchIndex.search("스터디", byPublishedDateTime, 9));
+    }
+
+    @DisplayName("n-gram 이 모두 겹치더라도 원문에 연속으로 포함되지 않으면 검색되지 않는다.")
+    @Test
+    void search_verifies_substring() {
+        studySearchIndex.index(createStudy(1L, "abcab", "tag", "zone"));
+
+        assertFalse(studySearchIndex.search("abca", byPublishedDateTime, 9).isEmpty());
+        assertTrue(studySearchIndex.search("bcabc", byPublishedDateTime, 9).isEmpty());
+    }
+
+    @DisplayName("제목이 바뀌거나 공개되지 않은 스터디는 색인에 반영된다.")
+    @Test
+    void reindex_and_unpublished() {
+        Study study = createStudy(1L, "Spring 스터디", "JPA", "서울");
+        studySearchIndex.index(study);
+
+        study.setTitle("Kotlin 스터디");
+        studySearchIndex.index(study);
+        assertTrue(studySearchIndex.search("spring", byPublishedDateTime, 9).isEmpty());
+        assertEquals(List.of(1L), studySearchIndex.search("kotlin", byPublishedDateTime, 9));
+
+        Study unpublished = createStudy(2L, "Kotlin 입문", "kotlin", "서울");
+        unpublished.setPublished(false);
+        studySearchIndex.index(unpublished);
+        assertEquals(List.of(1L), studySearchIndex.search("kotlin", byPublishedDateTime, 9));
+
+        studySearchIndex.remove(study);
+        assertTrue(studySearchIndex.search("kotlin", byPublishedDateTime, 9).isEmpty());
+    }
+
+    @DisplayName("트랜잭션 안에서 바꾼 색인은 커밋된 뒤에 반영되고, 롤백되면 반영되지 않는다.")
+    @Test
+    void index_after_commit() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            studySearchIndex.index(createStudy(1L, "Spring 스터디", "JPA", "서울"));
+            assertTrue(studySearchIndex.search("spring", byPublishedDateTime, 9).isEmpty());
+
+            TransactionSynchronizationUtils.triggerAfterCommit();
+            assertEquals(List.of(1L), studySearchIndex.search("spring", byPublishedDateTime, 9));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            studySearchIndex.index(createStudy(2L, "Spring 입문", "JPA", "서울"));
+        } finally {
+            // 롤백되면 afterCommit 이 호출되지 않는다.
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertEquals(List.of(1L), studySearchIndex.search("spring", byPublishedDateTime, 9));
+    }
+
+    @DisplayName("커서 다음, 이전 페이지의 스터디 id 를 화면 정렬 순서대로 돌려준다.")
+    @Test
+    void search_with_cursor() {
+        Study[] studies = new Study[6];
+        for (int i = 1; i <= 5; i++) {
+            studies[i] = createStudy((long) i, "스터디 " + i, "JPA", "서울");
+            studies[i].setMemberCount(10 - i);
+            studySearchIndex.index(studies[i]);
+        }
+
+        StudySearchCursor first = StudySearchCursor.first(StudySearchCursor.MEMBER_COUNT);
+        assertEquals(List.of(1L, 2L), studySearchIndex.search("jpa", first, 2));
+
+        StudySearchCursor next = StudySearchCursor.decode(StudySearchCursor.after(studies[2], StudySearchCursor.MEMBER_COUNT).encode(), StudySearchCursor.MEMBER_COUNT);
+        assertEquals(List.of(3L, 4L), studySearchIndex.search("jpa", next, 2));
+
+        StudySearchCursor previous = StudySearchCursor.decode(StudySearchCursor.before(studies[5], StudySearchCursor.MEMBER_COUNT).encode(), StudySearchCursor.MEMBER_COUNT);
+        assertEquals(List.of(3L, 4L), studySearchIndex.search("jpa", previous, 2));
+    }
+
+    @DisplayName("정렬 방식이 다른 커서는 첫 페이지로 취급한다.")
+    @Test
+    void decode_cursor_with_other_sort() {
+        Study study = createStudy(1L, "스터디", "JPA", "서울");
+        String token = StudySearchCursor.after(study, StudySearchCursor.MEMBER_COUNT).encode();
+
+        assertTrue(StudySearchCursor.decode(token, StudySearchCursor.PUBLISHED_DATE_TIME).isFirst());
+        assertTrue(StudySearchCursor.decode("not-a-cursor", StudySearchCursor.MEMBER_COUNT).isFirst());
+    }
+
+    private Study createStudy(Long id, String title, String tagTitle, String localNameOfCity) {
+        Study study = new Study();
+        study.setId(id);
+        study.setTitle(title);
+        study.setPublished(true);
+        study.setPublishedDateTime(LocalDateTime.now().plusMinutes(id));
+        study.setTags(new HashSet<>());
+        study.setZones(new HashSet<>());
+        study.getTags().add(Tag.builder().id(id).title(tagTitle).build());
+        study.getZones().add(Zone.builder().id(id).localNameOfCity(localNameOfCity).city(localNameOfCity).build());
+        return study;
+    }
+}
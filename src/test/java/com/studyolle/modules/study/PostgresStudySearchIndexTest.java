@@ -0,0 +1,120 @@
+package com.studyolle.modules.study;
+
+import com.studyolle.infra.AbstractContainerBaseTest;
+import com.studyolle.infra.MockMvcTest;
+import com.studyolle.modules.account.Account;
+import com.studyolle.modules.account.AccountFactory;
+import com.studyolle.modules.account.WithAccount;
+import com.studyolle.modules.tag.TagService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@MockMvcTest
+@TestPropertySource(properties = "app.search.mode=postgres")
+class PostgresStudySearchIndexTest extends AbstractContainerBaseTest {
+
+    @Autowired MockMvc mockMvc;
+    @Autowired StudyService studyService;
+    @Autowired StudyFactory studyFactory;
+    @Autowired AccountFactory accountFactory;
+    @Autowired TagService tagService;
+    @Autowired StudySearchIndex studySearchIndex;
+    @Autowired JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("postgres 검색 컬럼이 준비되면 관련도 정렬을 지원한다.")
+    void supportsRelevance() {
+        assertTrue(studySearchIndex instanceof PostgresStudySearchIndex);
+        assertTrue(studySearchIndex.supportsRelevance());
+    }
+
+    @Test
+    @DisplayName("제목, 짧은 소개, 태그로 검색하고 관련도 순으로 정렬한다.")
+    void search_by_relevance() {
+        Account manager = accountFactory.createAccount("whiteship");
+        Study titleAndTag = publishStudy("jpa-study", "JPA 스터디", "스프링 데이터 JPA 를 공부합니다.", "JPA", manager);
+        Study tagOnly = publishStudy("spring-study", "스프링 스터디", "스프링 부트를 공부합니다.", "JPA", manager);
+        publishStudy("book-study", "독서 모임", "책을 읽습니다.", "book", manager);
+
+        StudyCursorPage studyPage = studyService.searchStudies("jpa", StudySearchCursor.first(StudySearchCursor.RELEVANCE), 9);
+
+        assertEquals(List.of(titleAndTag.getId(), tagOnly.getId()), idsOf(studyPage));
+    }
+
+    @Test
+    @DisplayName("다음 페이지 커서로 이어서 검색한다.")
+    void search_with_cursor() {
+        Account manager = accountFactory.createAccount("whiteship");
+        for (int i = 0; i < 5; i++) {
+            publishStudy("study-" + i, "스프링 스터디 " + i, "스프링을 공부합니다.", "spring", manager);
+        }
+
+        StudyCursorPage firstPage = studyService.searchStudies("스프링", StudySearchCursor.first(StudySearchCursor.RELEVANCE), 3);
+        StudyCursorPage secondPage = studyService.searchStudies("스프링",
+                StudySearchCursor.decode(firstPage.getNextCursor(), StudySearchCursor.RELEVANCE), 3);
+
+        assertEquals(3, firstPage.getContent().size());
+        assertTrue(firstPage.hasNext());
+        assertEquals(2, secondPage.getContent().size());
+        assertTrue(secondPage.hasPrevious());
+        assertTrue(idsOf(firstPage).stream().noneMatch(idsOf(secondPage)::contains));
+    }
+
+    @Test
+    @DisplayName("시작할 때는 search_text 가 비어 있는 스터디만 채운다.")
+    void init_fills_only_empty_search_text() {
+        Account manager = accountFactory.createAccount("whiteship");
+        Study indexed = publishStudy("jpa-study", "JPA 스터디", "스프링 데이터 JPA 를 공부합니다.", "JPA", manager);
+        Study empty = publishStudy("book-study", "독서 모임", "책을 읽습니다.", "book", manager);
+        jdbcTemplate.update("UPDATE study SET search_text = 'indexed' WHERE id = ?", indexed.getId());
+        jdbcTemplate.update("UPDATE study SET search_text = NULL WHERE id = ?", empty.getId());
+
+        ((PostgresStudySearchIndex) studySearchIndex).initSearchColumn();
+
+        assertEquals("indexed", searchTextOf(indexed));
+        assertTrue(searchTextOf(empty).contains("독서 모임"));
+    }
+
+    @Test
+    @WithAccount("keesun")
+    @DisplayName("검색 화면에서 관련도 정렬을 선택할 수 있다.")
+    void searchStudy_view() throws Exception {
+        Account manager = accountFactory.createAccount("whiteship");
+        publishStudy("jpa-study", "JPA 스터디", "스프링 데이터 JPA 를 공부합니다.", "JPA", manager);
+
+        mockMvc.perform(get("/search/study").param("keyword", "jpa").param("sort", "relevance"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("search"))
+                .andExpect(model().attribute("sortProperty", "relevance"))
+                .andExpect(model().attribute("relevanceSupported", true));
+    }
+
+    private Study publishStudy(String path, String title, String shortDescription, String tagTitle, Account manager) {
+        Study study = studyFactory.createStudy(path, manager);
+        study.setTitle(title);
+        study.setShortDescription(shortDescription);
+        studyService.addTag(study, tagService.findOrCreateNew(tagTitle));
+        studyService.publish(study);
+        return study;
+    }
+
+    private String searchTextOf(Study study) {
+        return jdbcTemplate.queryForObject("SELECT search_text FROM study WHERE id = ?", String.class, study.getId());
+    }
+
+    private List<Long> idsOf(StudyCursorPage studyPage) {
+        return studyPage.getContent().stream().map(Study::getId).collect(Collectors.toList());
+    }
+}
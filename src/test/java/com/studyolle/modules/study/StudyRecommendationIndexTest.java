@@ -0,0 +1,118 @@
+package com.studyolle.modules.study;
+
+import com.studyolle.modules.account.Account;
+import com.studyolle.modules.account.AccountUpdatedEvent;
+import com.studyolle.modules.tag.Tag;
+import com.studyolle.modules.zone.Zone;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+class StudyRecommendationIndexTest {
+
+    Tag spring = Tag.builder().id(1L).title("spring").build();
+    Tag jpa = Tag.builder().id(2L).title("jpa").build();
+    Tag book = Tag.builder().id(3L).title("book").build();
+    Zone seoul = Zone.builder().id(1L).city("Seoul").localNameOfCity("서울").build();
+    Zone busan = Zone.builder().id(2L).city("Busan").localNameOfCity("부산").build();
+
+    StudyRecommendationIndex studyRecommendationIndex;
+    Account account;
+
+    @BeforeEach
+    void beforeEach() {
+        studyRecommendationIndex = new StudyRecommendationIndex(mock(StudyRepository.class));
+        account = new Account();
+        account.setId(100L);
+        account.setTags(new HashSet<>(List.of(spring, jpa)));
+        account.setZones(new HashSet<>(List.of(seoul)));
+    }
+
+    @DisplayName("태그와 지역이 겹치는 스터디를 겹치는 개수, 최근 공개 순서로 추천한다.")
+    @Test
+    void recommend_by_overlap() {
+        studyRecommendationIndex.index(createStudy(1L, List.of(spring), List.of(seoul)));
+        studyRecommendationIndex.index(createStudy(2L, List.of(spring, jpa), List.of(seoul, busan)));
+        studyRecommendationIndex.index(createStudy(3L, List.of(jpa), List.of(seoul)));
+        studyRecommendationIndex.index(createStudy(4L, List.of(spring), List.of(busan)));
+        studyRecommendationIndex.index(createStudy(5L, List.of(book), List.of(seoul)));
+
+        assertEquals(List.of(2L, 3L, 1L), studyRecommendationIndex.recommend(account));
+    }
+
+    @DisplayName("스터디가 공개되거나 태그가 바뀌거나 종료되면 이미 계산된 추천 목록도 바뀐다.")
+    @Test
+    void update_recommendation_incrementally() {
+        Study study = createStudy(1L, List.of(book), List.of(seoul));
+        studyRecommendationIndex.index(study);
+        assertTrue(studyRecommendationIndex.recommend(account).isEmpty());
+
+        study.getTags().add(jpa);
+        studyRecommendationIndex.index(study);
+        studyRecommendationIndex.index(createStudy(2L, List.of(spring), List.of(seoul)));
+        assertEquals(List.of(2L, 1L), studyRecommendationIndex.recommend(account));
+
+        study.setClosed(true);
+        studyRecommendationIndex.index(study);
+        assertEquals(List.of(2L), studyRecommendationIndex.recommend(account));
+    }
+
+    @DisplayName("트랜잭션 안에서 바꾼 스터디는 커밋된 뒤에 추천에 반영되고, 롤백되면 반영되지 않는다.")
+    @Test
+    void index_after_commit() {
+        Study study = createStudy(1L, List.of(spring), List.of(seoul));
+        studyRecommendationIndex.index(study);
+        assertEquals(List.of(1L), studyRecommendationIndex.recommend(account));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            study.setClosed(true);
+            studyRecommendationIndex.index(study);
+            assertEquals(List.of(1L), studyRecommendationIndex.recommend(account));
+        } finally {
+            // 롤백되면 afterCommit 이 호출되지 않는다.
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertEquals(List.of(1L), studyRecommendationIndex.recommend(account));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            studyRecommendationIndex.remove(study);
+            TransactionSynchronizationUtils.triggerAfterCommit();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertTrue(studyRecommendationIndex.recommend(account).isEmpty());
+    }
+
+    @DisplayName("계정의 관심 태그/지역이 바뀌면 다음 조회 때 다시 계산한다.")
+    @Test
+    void account_updated() {
+        studyRecommendationIndex.index(createStudy(1L, List.of(book), List.of(seoul)));
+        assertTrue(studyRecommendationIndex.recommend(account).isEmpty());
+
+        account.getTags().add(book);
+        studyRecommendationIndex.handleAccountUpdatedEvent(new AccountUpdatedEvent(account));
+        assertEquals(List.of(1L), studyRecommendationIndex.recommend(account));
+    }
+
+    private Study createStudy(Long id, List<Tag> tags, List<Zone> zones) {
+        Study study = new Study();
+        study.setId(id);
+        study.setPublished(true);
+        study.setPublishedDateTime(LocalDateTime.now().plusMinutes(id));
+        study.setTags(new HashSet<>(tags));
+        study.setZones(new HashSet<>(zones));
+        return study;
+    }
+}